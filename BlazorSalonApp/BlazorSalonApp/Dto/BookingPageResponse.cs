@@ -0,0 +1,9 @@
+﻿namespace BlazorSalonApp.Dto;
+
+
+public class BookingPageResponse
+{
+    public List<BookingResponse> Bookings { get; set; } = new();
+    public string? NextCursor { get; set; }
+    public bool HasMore { get; set; }
+}
\ No newline at end of file
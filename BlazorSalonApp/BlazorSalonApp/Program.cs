@@ -16,10 +16,14 @@ builder.Services.AddScoped(sp =>
 {
     var apiBaseUrl = builder.Configuration.GetValue<string>("ApiBaseUrl") ?? "http://localhost:8080";
     
-    return new HttpClient
+    var http = new HttpClient
     {
         BaseAddress = new Uri($"{apiBaseUrl}/api/")
     };
+    // One id per circuit (browser session): the API keys anonymous holds and read-your-writes
+    // pinning on it, since every request reaches it from this server's address
+    http.DefaultRequestHeaders.Add("X-Visitor-Id", Guid.NewGuid().ToString("N"));
+    return http;
 });
 
 // Add services
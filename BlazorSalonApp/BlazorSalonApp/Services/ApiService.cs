@@ -105,11 +105,11 @@ public class ApiService : IApiService
     // BUSINESS OWNER - BOOKINGS
     // ============================================
 
-    public async Task<List<BookingResponse>> GetAllMyBookingsAsync()
+    public async Task<BookingPageResponse> GetMyBookingPageAsync(int limit)
     {
-        var response = await _interceptor.GetAsync("business/bookings");
-        return await response.Content.ReadFromJsonAsync<List<BookingResponse>>() 
-            ?? new List<BookingResponse>();
+        var response = await _interceptor.GetAsync($"business/bookings?limit={limit}");
+        return await response.Content.ReadFromJsonAsync<BookingPageResponse>() 
+            ?? new BookingPageResponse();
     }
 
     public async Task<List<BookingResponse>> GetTodayBookingsAsync()
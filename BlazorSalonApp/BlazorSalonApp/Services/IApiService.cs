@@ -22,7 +22,7 @@ public interface IApiService
     Task DeleteServiceAsync(long serviceId);
     
     // Business Owner - Bookings
-    Task<List<BookingResponse>> GetAllMyBookingsAsync();
+    Task<BookingPageResponse> GetMyBookingPageAsync(int limit);
     Task<List<BookingResponse>> GetTodayBookingsAsync();
     Task<List<BookingResponse>> GetBookingsByDateAsync(DateTime date);
     Task<BookingResponse> CompleteBookingAsync(long bookingId);
@@ -0,0 +1,91 @@
+// Load benchmark for the public booking API (k6, https://k6.io).
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e SLUG=my-salon -e SERVICE_ID=1 \
+//          -e MODE=platform loadtest/booking-load.js
+//
+// Run it once per thread mode against the same database and compare the summaries
+// written to loadtest/results/. See loadtest/README.md.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SLUG = __ENV.SLUG || 'demo';
+const SERVICE_ID = __ENV.SERVICE_ID || '1';
+const MODE = __ENV.MODE || 'unknown';
+const VUS = parseInt(__ENV.VUS || '500', 10);
+const DURATION = __ENV.DURATION || '60s';
+// Bookings are spread over this many days so most attempts hit a free slot
+const BOOKING_DAYS = parseInt(__ENV.BOOKING_DAYS || '60', 10);
+
+export const options = {
+    discardResponseBodies: true,
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(99)', 'max'],
+    scenarios: {
+        available_times: {
+            executor: 'constant-vus',
+            exec: 'availableTimes',
+            vus: VUS,
+            duration: DURATION,
+        },
+        create_booking: {
+            executor: 'constant-vus',
+            exec: 'createBooking',
+            vus: Math.max(1, Math.floor(VUS / 10)),
+            duration: DURATION,
+        },
+    },
+    thresholds: {
+        'http_req_duration{scenario:available_times}': ['p(99)>=0'],
+        'http_req_duration{scenario:create_booking}': ['p(99)>=0'],
+    },
+};
+
+function isoDate(daysAhead) {
+    const d = new Date();
+    d.setDate(d.getDate() + daysAhead);
+    return d.toISOString().slice(0, 10);
+}
+
+export function availableTimes() {
+    const date = isoDate(1 + Math.floor(Math.random() * 14));
+    const res = http.get(
+        `${BASE_URL}/api/public/${SLUG}/available-times?date=${date}&serviceId=${SERVICE_ID}`,
+        { tags: { endpoint: 'available-times' } });
+    check(res, { 'available-times 200': (r) => r.status === 200 });
+}
+
+export function createBooking() {
+    const date = isoDate(1 + Math.floor(Math.random() * BOOKING_DAYS));
+    const slot = Math.floor(Math.random() * 16); // 09:00-16:30 in 30 minute steps
+    const hour = String(9 + Math.floor(slot / 2)).padStart(2, '0');
+    const minute = slot % 2 === 0 ? '00' : '30';
+    const body = JSON.stringify({
+        serviceId: Number(SERVICE_ID),
+        startTime: `${date}T${hour}:${minute}:00`,
+        customerName: 'Load Test',
+        customerPhone: '+4512345678',
+    });
+    const res = http.post(`${BASE_URL}/api/public/${SLUG}/bookings`, body, {
+        headers: { 'Content-Type': 'application/json' },
+        tags: { endpoint: 'create-booking' },
+    });
+    // A conflict is a correct answer for an already taken slot
+    check(res, { 'create-booking 201/409': (r) => r.status === 201 || r.status === 409 });
+}
+
+export function handleSummary(data) {
+    const rows = ['available_times', 'create_booking'].map((scenario) => {
+        const metric = data.metrics[`http_req_duration{scenario:${scenario}}`];
+        const values = metric ? metric.values : {};
+        return `${MODE}\t${scenario}\tp50=${(values.med || 0).toFixed(1)}ms\tp99=${(values['p(99)'] || 0).toFixed(1)}ms`;
+    });
+    const reqs = data.metrics.http_reqs.values;
+    rows.push(`${MODE}\ttotal\t${reqs.rate.toFixed(1)} req/s\t${reqs.count} requests`);
+    const text = rows.join('\n') + '\n';
+    return {
+        stdout: text,
+        [`loadtest/results/${MODE}.txt`]: text,
+        [`loadtest/results/${MODE}.json`]: JSON.stringify(data, null, 2),
+    };
+}
@@ -0,0 +1,192 @@
+package com.example.salon.cache;
+
+import com.example.salon.dto.AvailableTimeSlot;
+import com.example.salon.dto.AvailableTimesResponse;
+import com.example.salon.dto.CacheStatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded LRU cache of computed available time slots keyed by (businessId, date, serviceId).
+ *
+ * Entries are dropped after the writing transaction commits (see {@link AvailabilityChangedEvent}).
+ * Every invalidation also bumps a per-business generation, and a computed value is only stored
+ * if the generation is unchanged since the computation started, so a read that raced a write
+ * can never put stale slots back into the cache.
+ */
+@Component
+@Slf4j
+public class AvailabilityCache {
+
+    private final int maxEntries;
+
+    // Access-ordered map for LRU eviction, guarded by "this"
+    private final LinkedHashMap<Key, AvailableTimesResponse> entries;
+
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public AvailabilityCache(@Value("${app.cache.availability.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, AvailableTimesResponse> eldest) {
+                if (size() > AvailabilityCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached slots for the key, with slots that have since moved into the past masked out.
+     * Returns null on a miss.
+     */
+    public AvailableTimesResponse get(Long businessId, LocalDate date, Long serviceId) {
+        AvailableTimesResponse cached;
+        synchronized (this) {
+            cached = entries.get(new Key(businessId, date, serviceId));
+        }
+
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return maskPastSlots(cached, LocalDateTime.now());
+    }
+
+    /**
+     * Snapshot to pass to {@link #put} once the value has been computed.
+     */
+    public long generation(Long businessId) {
+        return generations.computeIfAbsent(businessId, id -> new AtomicLong()).get();
+    }
+
+    public void put(Long businessId, LocalDate date, Long serviceId, long generation, AvailableTimesResponse value) {
+        synchronized (this) {
+            if (generation(businessId) != generation) {
+                return;
+            }
+            entries.put(new Key(businessId, date, serviceId), value);
+        }
+    }
+
+    public void invalidateDate(Long businessId, LocalDate date) {
+        synchronized (this) {
+            bumpGeneration(businessId);
+            entries.keySet().removeIf(key -> key.businessId.equals(businessId) && key.date.equals(date));
+        }
+        invalidations.increment();
+    }
+
+    public void invalidateBusiness(Long businessId) {
+        synchronized (this) {
+            bumpGeneration(businessId);
+            entries.keySet().removeIf(key -> key.businessId.equals(businessId));
+        }
+        invalidations.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        if (event.getDate() == null) {
+            invalidateBusiness(event.getBusinessId());
+        } else {
+            invalidateDate(event.getBusinessId(), event.getDate());
+        }
+        log.debug("Availability cache invalidated for business {} date {}", event.getBusinessId(), event.getDate());
+    }
+
+    public CacheStatsResponse stats() {
+        long size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return CacheStatsResponse.builder()
+                .name("availability")
+                .size(size)
+                .maxEntries(maxEntries)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .build();
+    }
+
+    private void bumpGeneration(Long businessId) {
+        generations.computeIfAbsent(businessId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private AvailableTimesResponse maskPastSlots(AvailableTimesResponse cached, LocalDateTime now) {
+        // Future days cannot contain past slots, and cached values are never mutated
+        if (cached.getDate().isAfter(now.toLocalDate())) {
+            return cached;
+        }
+
+        // Like freshly computed slots, a slot in the past has no free staff
+        List<AvailableTimeSlot> slots = cached.getTimeSlots().stream()
+                .map(slot -> {
+                    boolean past = slot.getStartTime().isBefore(now);
+                    return AvailableTimeSlot.builder()
+                            .startTime(slot.getStartTime())
+                            .endTime(slot.getEndTime())
+                            .available(slot.isAvailable() && !past)
+                            .availableStaffIds(past ? List.of() : slot.getAvailableStaffIds())
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        return AvailableTimesResponse.builder()
+                .date(cached.getDate())
+                .timeSlots(slots)
+                .build();
+    }
+
+    private static final class Key {
+        private final Long businessId;
+        private final LocalDate date;
+        private final Long serviceId;
+
+        private Key(Long businessId, LocalDate date, Long serviceId) {
+            this.businessId = businessId;
+            this.date = date;
+            this.serviceId = serviceId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return businessId.equals(other.businessId)
+                    && date.equals(other.date)
+                    && serviceId.equals(other.serviceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(businessId, date, serviceId);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.salon.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever a write changes which slots a business can offer.
+ * A null date means every date for the business is affected (hours, services).
+ */
+@Getter
+@RequiredArgsConstructor
+public class AvailabilityChangedEvent {
+
+    private final Long businessId;
+    private final LocalDate date;
+
+    public static AvailabilityChangedEvent forDate(Long businessId, LocalDate date) {
+        return new AvailabilityChangedEvent(businessId, date);
+    }
+
+    public static AvailabilityChangedEvent forBusiness(Long businessId) {
+        return new AvailabilityChangedEvent(businessId, null);
+    }
+}
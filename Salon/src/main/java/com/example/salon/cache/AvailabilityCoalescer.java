@@ -0,0 +1,136 @@
+package com.example.salon.cache;
+
+import com.example.salon.dto.AvailableTimesResponse;
+import com.example.salon.dto.CoalescingStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for availability cache misses: concurrent identical requests share one
+ * in-flight computation and all complete with its result.
+ *
+ * An entry lives only while its computation runs and holds no result afterwards; caching is
+ * left to {@link AvailabilityCache}. The key includes the cache generation, so a request that
+ * arrives after an invalidation never joins a computation that started before it. The table is
+ * bounded; when it is full, requests compute on their own.
+ */
+@Component
+public class AvailabilityCoalescer {
+
+    private final int maxInFlight;
+    private final Map<Key, CompletableFuture<AvailableTimesResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public AvailabilityCoalescer(@Value("${app.availability.coalescing.max-in-flight:10000}") int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Joins the in-flight computation for the key, or starts one with the given task
+     */
+    public CompletableFuture<AvailableTimesResponse> execute(Long businessId, LocalDate date, Long serviceId,
+                                                             long generation, boolean primaryRequired,
+                                                             Supplier<CompletableFuture<AvailableTimesResponse>> task) {
+        Key key = new Key(businessId, date, serviceId, generation, primaryRequired);
+
+        CompletableFuture<AvailableTimesResponse> existing = inFlight.get(key);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        if (inFlight.size() >= maxInFlight) {
+            bypassed.increment();
+            return task.get();
+        }
+
+        CompletableFuture<AvailableTimesResponse> shared = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        computations.increment();
+        CompletableFuture<AvailableTimesResponse> computation;
+        try {
+            computation = task.get();
+        } catch (RuntimeException ex) {
+            // e.g. the executor queue is full; requests that already joined fail the same way
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(ex);
+            throw ex;
+        }
+
+        computation.whenComplete((result, error) -> {
+            inFlight.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(result);
+            }
+        });
+        return shared;
+    }
+
+    public CoalescingStatsResponse stats() {
+        long started = computations.sum();
+        long joined = coalesced.sum();
+        long alone = bypassed.sum();
+        long total = started + joined + alone;
+
+        return CoalescingStatsResponse.builder()
+                .name("availability")
+                .inFlight(inFlight.size())
+                .maxInFlight(maxInFlight)
+                .computations(started)
+                .coalesced(joined)
+                .bypassed(alone)
+                .coalescingRatio(total == 0 ? 0.0 : (double) joined / total)
+                .build();
+    }
+
+    private static final class Key {
+        private final Long businessId;
+        private final LocalDate date;
+        private final Long serviceId;
+        private final long generation;
+        private final boolean primaryRequired;
+
+        private Key(Long businessId, LocalDate date, Long serviceId, long generation, boolean primaryRequired) {
+            this.businessId = businessId;
+            this.date = date;
+            this.serviceId = serviceId;
+            this.generation = generation;
+            this.primaryRequired = primaryRequired;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return generation == other.generation
+                    && primaryRequired == other.primaryRequired
+                    && businessId.equals(other.businessId)
+                    && date.equals(other.date)
+                    && serviceId.equals(other.serviceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(businessId, date, serviceId, generation, primaryRequired);
+        }
+    }
+}
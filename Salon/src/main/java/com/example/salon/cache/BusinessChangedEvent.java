@@ -0,0 +1,24 @@
+package com.example.salon.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a business is created, changes status or is deleted.
+ * A null snapshot means the business with the given slug no longer exists.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BusinessChangedEvent {
+
+    private final String slug;
+    private final BusinessSnapshot snapshot;
+
+    public static BusinessChangedEvent saved(BusinessSnapshot snapshot) {
+        return new BusinessChangedEvent(snapshot.getSlug(), snapshot);
+    }
+
+    public static BusinessChangedEvent deleted(String slug) {
+        return new BusinessChangedEvent(slug, null);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.salon.cache;
+
+import com.example.salon.config.ReadReplicaContext;
+import com.example.salon.dto.CacheStatsResponse;
+import com.example.salon.exception.ResourceNotFoundException;
+import com.example.salon.repository.BusinessRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory slug index of business snapshots for the public API.
+ *
+ * Loaded in full at startup and kept current by write-through updates after each business write
+ * commits. Misses load through computeIfAbsent, so a concurrent write-through for the same slug
+ * waits for the load and always wins.
+ *
+ * Unknown slugs are remembered for a short TTL, so repeated requests for a mistyped or
+ * made-up slug do not each reach the database. Creating a business with that slug clears
+ * the entry at once.
+ */
+@Component
+@Slf4j
+public class BusinessDirectory {
+
+    private final BusinessRepository businessRepository;
+    private final long unknownSlugTtlNanos;
+    private final int maxUnknownSlugs;
+
+    private final Map<String, BusinessSnapshot> bySlug = new ConcurrentHashMap<>();
+
+    // Unknown slug -> System.nanoTime() deadline, access-ordered for LRU eviction, guarded by itself
+    private final LinkedHashMap<String, Long> unknownSlugs;
+
+    // Bumped on every saved business, so a lookup that raced a create does not cache the miss
+    private final AtomicLong savedBusinesses = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public BusinessDirectory(BusinessRepository businessRepository,
+                             @Value("${app.cache.business-directory.unknown-slug-ttl-seconds:30}") long unknownSlugTtlSeconds,
+                             @Value("${app.cache.business-directory.unknown-slug-max-entries:10000}") int maxUnknownSlugs) {
+        this.businessRepository = businessRepository;
+        this.unknownSlugTtlNanos = Duration.ofSeconds(unknownSlugTtlSeconds).toNanos();
+        this.maxUnknownSlugs = maxUnknownSlugs;
+        this.unknownSlugs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > BusinessDirectory.this.maxUnknownSlugs;
+            }
+        };
+    }
+
+    /**
+     * Loads go to the primary: entries are only replaced by later writes, so a row missing
+     * from a lagging replica would stay missing
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        ReadReplicaContext.call(true, businessRepository::findAll)
+                .forEach(business -> bySlug.put(business.getSlug(), BusinessSnapshot.of(business)));
+        log.info("Business directory loaded with {} businesses", bySlug.size());
+    }
+
+    /**
+     * Resolves a slug, throwing the same not-found error as the repository lookups did
+     */
+    public BusinessSnapshot getBySlug(String slug) {
+        BusinessSnapshot snapshot = bySlug.get(slug);
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot;
+        }
+
+        if (isKnownUnknown(slug)) {
+            hits.increment();
+            throw new ResourceNotFoundException("Business not found: " + slug);
+        }
+
+        misses.increment();
+        long savedBefore = savedBusinesses.get();
+        snapshot = bySlug.computeIfAbsent(slug, key -> ReadReplicaContext.call(true, () -> businessRepository.findBySlug(key))
+                .map(BusinessSnapshot::of)
+                .orElse(null));
+
+        if (snapshot == null) {
+            rememberUnknown(slug, savedBefore);
+            throw new ResourceNotFoundException("Business not found: " + slug);
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBusinessChanged(BusinessChangedEvent event) {
+        if (event.getSnapshot() == null) {
+            bySlug.remove(event.getSlug());
+        } else {
+            bySlug.put(event.getSlug(), event.getSnapshot());
+            synchronized (unknownSlugs) {
+                savedBusinesses.incrementAndGet();
+                unknownSlugs.remove(event.getSlug());
+            }
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.builder()
+                .name("business-directory")
+                .size(bySlug.size())
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .build();
+    }
+
+    // ============================================
+    // UNKNOWN SLUGS
+    // ============================================
+
+    private boolean isKnownUnknown(String slug) {
+        long now = System.nanoTime();
+        synchronized (unknownSlugs) {
+            Long deadline = unknownSlugs.get(slug);
+            if (deadline == null) {
+                return false;
+            }
+            if (now - deadline < 0) {
+                return true;
+            }
+            unknownSlugs.remove(slug);
+            return false;
+        }
+    }
+
+    private void rememberUnknown(String slug, long savedBefore) {
+        if (unknownSlugTtlNanos <= 0) {
+            return;
+        }
+        synchronized (unknownSlugs) {
+            if (savedBusinesses.get() != savedBefore) {
+                return;
+            }
+            unknownSlugs.put(slug, System.nanoTime() + unknownSlugTtlNanos);
+        }
+    }
+}
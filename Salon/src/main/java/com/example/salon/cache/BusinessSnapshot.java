@@ -0,0 +1,22 @@
+package com.example.salon.cache;
+
+import com.example.salon.model.Business;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable view of the business fields the public API needs to resolve a tenant
+ */
+@Getter
+@AllArgsConstructor
+public final class BusinessSnapshot {
+
+    private final Long id;
+    private final String name;
+    private final String slug;
+    private final boolean active;
+
+    public static BusinessSnapshot of(Business business) {
+        return new BusinessSnapshot(business.getId(), business.getName(), business.getSlug(), business.getActive());
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.salon.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a business's weekly hours or closed dates change
+ */
+@Getter
+@RequiredArgsConstructor
+public class ScheduleChangedEvent {
+
+    private final Long businessId;
+}
@@ -0,0 +1,40 @@
+package com.example.salon.cache;
+
+import com.example.salon.dto.CacheStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Per-region counters of the Hibernate second-level and query cache
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheStats {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheStatsResponse> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(regionStats -> CacheStatsResponse.builder()
+                        .name("hibernate:" + regionStats.getRegionName())
+                        // JCache regions cannot report their size; Hibernate returns a negative sentinel
+                        .size(Math.max(0, regionStats.getElementCountInMemory()))
+                        .hits(regionStats.getHitCount())
+                        .misses(regionStats.getMissCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.salon.cache;
+
+import com.example.salon.model.BusinessHours;
+import com.example.salon.model.ClosedDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Immutable, compiled opening schedule for one business: the hours for each weekday
+ * plus the sorted set of closed dates. All lookups are in-memory.
+ */
+public final class WeeklySchedule {
+
+    private final Map<DayOfWeek, DayHours> days;
+    private final NavigableSet<LocalDate> closedDates;
+
+    private WeeklySchedule(Map<DayOfWeek, DayHours> days, NavigableSet<LocalDate> closedDates) {
+        this.days = days;
+        this.closedDates = closedDates;
+    }
+
+    public static WeeklySchedule of(List<BusinessHours> hours, List<ClosedDate> closed) {
+        Map<DayOfWeek, DayHours> days = new EnumMap<>(DayOfWeek.class);
+        for (BusinessHours h : hours) {
+            days.put(h.getDayOfWeek(), new DayHours(
+                    Boolean.TRUE.equals(h.getIsOpen()),
+                    h.getOpenTime(),
+                    h.getCloseTime(),
+                    h.getBreakStartTime(),
+                    h.getBreakEndTime()));
+        }
+
+        NavigableSet<LocalDate> closedDates = new TreeSet<>();
+        for (ClosedDate c : closed) {
+            closedDates.add(c.getClosedDate());
+        }
+
+        return new WeeklySchedule(Collections.unmodifiableMap(days), Collections.unmodifiableNavigableSet(closedDates));
+    }
+
+    /**
+     * Rebuilds a schedule from already compiled parts, e.g. when restored from the calendar snapshot
+     */
+    public static WeeklySchedule of(Map<DayOfWeek, DayHours> days, Collection<LocalDate> closed) {
+        Map<DayOfWeek, DayHours> copy = new EnumMap<>(DayOfWeek.class);
+        copy.putAll(days);
+        return new WeeklySchedule(Collections.unmodifiableMap(copy),
+                Collections.unmodifiableNavigableSet(new TreeSet<>(closed)));
+    }
+
+    /**
+     * True if the weekday is open and the date is not a closed date
+     */
+    public boolean isOpen(LocalDate date) {
+        return isOpenOn(date.getDayOfWeek()) && !closedDates.contains(date);
+    }
+
+    public boolean isOpenOn(DayOfWeek dayOfWeek) {
+        DayHours hours = days.get(dayOfWeek);
+        return hours != null && hours.isOpen();
+    }
+
+    public NavigableSet<LocalDate> closedDates() {
+        return closedDates;
+    }
+
+    public boolean hasOpenDays() {
+        return days.values().stream().anyMatch(DayHours::isOpen);
+    }
+
+    /**
+     * Hours configured for the weekday, or null if none are configured
+     */
+    public DayHours hoursFor(DayOfWeek dayOfWeek) {
+        return days.get(dayOfWeek);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class DayHours {
+        private final boolean open;
+        private final LocalTime openTime;
+        private final LocalTime closeTime;
+        private final LocalTime breakStartTime;
+        private final LocalTime breakEndTime;
+    }
+}
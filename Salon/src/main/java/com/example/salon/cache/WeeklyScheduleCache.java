@@ -0,0 +1,133 @@
+package com.example.salon.cache;
+
+import com.example.salon.calendar.CalendarSnapshotStore;
+import com.example.salon.config.ReplicaLagGuard;
+import com.example.salon.dto.CacheStatsResponse;
+import com.example.salon.repository.BusinessHoursRepository;
+import com.example.salon.repository.ClosedDateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiled {@link WeeklySchedule} per business.
+ *
+ * A schedule is restored from the calendar snapshot or built on first use, and dropped after a
+ * schedule change commits, so the next reader rebuilds it. Schedules are immutable and swapped
+ * as a whole, so readers never see a half-updated week. Only closed dates from today on are
+ * compiled in: a past date has no bookable slots either way.
+ *
+ * Beyond max-entries, a miss evicts other businesses' schedules. Dropping an entry is always
+ * safe (it is what an invalidation does), so eviction does not need to pick the least recent.
+ */
+@Component
+@Slf4j
+public class WeeklyScheduleCache {
+
+    private final BusinessHoursRepository businessHoursRepository;
+    private final ClosedDateRepository closedDateRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final CalendarSnapshotStore snapshotStore;
+    private final int maxEntries;
+
+    private final Map<Long, WeeklySchedule> schedules = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public WeeklyScheduleCache(BusinessHoursRepository businessHoursRepository,
+                               ClosedDateRepository closedDateRepository,
+                               ReplicaLagGuard replicaLagGuard,
+                               CalendarSnapshotStore snapshotStore,
+                               @Value("${app.cache.weekly-schedule.max-entries:10000}") int maxEntries) {
+        this.businessHoursRepository = businessHoursRepository;
+        this.closedDateRepository = closedDateRepository;
+        this.replicaLagGuard = replicaLagGuard;
+        this.snapshotStore = snapshotStore;
+        this.maxEntries = maxEntries;
+    }
+
+    public WeeklySchedule get(Long businessId) {
+        WeeklySchedule schedule = schedules.get(businessId);
+        if (schedule != null) {
+            hits.increment();
+            return schedule;
+        }
+
+        misses.increment();
+
+        // Within the replica lag window the rows may come from a stale replica; use them for
+        // this call only rather than caching them
+        if (replicaLagGuard.isBusinessPinned(businessId)) {
+            return load(businessId);
+        }
+
+        // A removal for the same business waits for this load, so a load that read
+        // pre-commit rows is always dropped afterwards
+        schedule = schedules.computeIfAbsent(businessId, this::restoreOrLoad);
+        evictBeyondMaxEntries(businessId);
+        return schedule;
+    }
+
+    /**
+     * Runs ahead of the availability cache listener, so slots recomputed after that
+     * invalidation are never built from the old schedule (but after the replica lag guard)
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        // Snapshot copy first, so a concurrent miss cannot restore it after the removal
+        snapshotStore.dropSchedule(event.getBusinessId());
+        schedules.remove(event.getBusinessId());
+        log.debug("Weekly schedule invalidated for business {}", event.getBusinessId());
+    }
+
+    /**
+     * Compiled schedules currently held, for the calendar snapshot
+     */
+    public Map<Long, WeeklySchedule> entries() {
+        return Map.copyOf(schedules);
+    }
+
+    private WeeklySchedule restoreOrLoad(Long businessId) {
+        WeeklySchedule restored = snapshotStore.takeSchedule(businessId);
+        return restored != null ? restored : load(businessId);
+    }
+
+    private WeeklySchedule load(Long businessId) {
+        return WeeklySchedule.of(
+                businessHoursRepository.findByBusinessIdOrderByDayOfWeek(businessId),
+                closedDateRepository.findByBusinessIdAndClosedDateGreaterThanEqual(businessId, LocalDate.now()));
+    }
+
+    private void evictBeyondMaxEntries(Long keep) {
+        Iterator<Long> businessIds = schedules.keySet().iterator();
+        while (schedules.size() > maxEntries && businessIds.hasNext()) {
+            Long businessId = businessIds.next();
+            if (!businessId.equals(keep) && schedules.remove(businessId) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.builder()
+                .name("weekly-schedule")
+                .size(schedules.size())
+                .maxEntries(maxEntries)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .build();
+    }
+}
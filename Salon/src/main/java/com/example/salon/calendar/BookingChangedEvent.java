@@ -0,0 +1,40 @@
+package com.example.salon.calendar;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Published when a booking starts or stops occupying its time range
+ * (created as CONFIRMED, or cancelled/completed). A rescheduled booking is published as
+ * occupied at its new time, which replaces its old range.
+ *
+ * Every write to an existing booking holds its row lock when it publishes, so for one booking
+ * the sequence numbers follow commit order even when the after-commit listeners do not.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BookingChangedEvent {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final Long bookingId;
+    private final Long businessId;
+    private final Long staffId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final boolean occupied;
+    private final long sequence = SEQUENCE.incrementAndGet();
+
+    public static BookingChangedEvent occupied(Long bookingId, Long businessId, Long staffId,
+                                               LocalDateTime startTime, LocalDateTime endTime) {
+        return new BookingChangedEvent(bookingId, businessId, staffId, startTime, endTime, true);
+    }
+
+    public static BookingChangedEvent released(Long bookingId, Long businessId, Long staffId,
+                                               LocalDateTime startTime, LocalDateTime endTime) {
+        return new BookingChangedEvent(bookingId, businessId, staffId, startTime, endTime, false);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.salon.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal booking projection used to load the calendar engine at startup, keyed by staff member
+ */
+@Data
+@AllArgsConstructor
+public class BookingInterval {
+    private Long id;
+    private Long staffId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
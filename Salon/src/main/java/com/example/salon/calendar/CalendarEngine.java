@@ -0,0 +1,278 @@
+package com.example.salon.calendar;
+
+import com.example.salon.config.ReadReplicaContext;
+import com.example.salon.dto.CacheStatsResponse;
+import com.example.salon.repository.BookingRepository;
+import com.example.salon.service.DayOccupancy;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resident copy of every staff member's current and future confirmed bookings.
+ *
+ * Restored at startup from the calendar snapshot plus the bookings changed since its watermark
+ * (or loaded from the bookings table if there is no snapshot) and kept current by
+ * {@link BookingChangedEvent}s after each booking write commits. Postgres stays the system of
+ * record: bookings are still written synchronously, the locked database check in
+ * createBooking remains the final word, and a conflict reported here is confirmed against the
+ * database before a request is rejected. Like the slot holds, it assumes one application instance.
+ *
+ * Calendars are kept per staff member. A staff member's bookings never overlap, so "is this
+ * staff member free" is a binary search plus at most a few neighbours, and "is any chair free"
+ * asks each qualified staff member in turn. Reads are lock-free lookups into immutable primitive
+ * arrays; writes replace one staff member's arrays under its map entry only.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarEngine {
+
+    private final BookingRepository bookingRepository;
+    private final CalendarSnapshotStore snapshotStore;
+
+    private final Map<Long, StaffCalendar> calendars = new ConcurrentHashMap<>();
+
+    // Last event applied per booking, so a late listener cannot undo a newer change
+    private final Map<Long, AppliedChange> appliedChanges = new ConcurrentHashMap<>();
+
+    /**
+     * Reads from the primary: a lagging replica would leave bookings out of the engine for good
+     */
+    @PostConstruct
+    void load() {
+        LocalDateTime from = LocalDate.now().minusDays(1).atStartOfDay();
+        CalendarSnapshot snapshot = snapshotStore.current();
+        ReadReplicaContext.call(true, () -> {
+            if (snapshot != null) {
+                replaySince(snapshot, from);
+            } else {
+                loadAll(from);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Applies only the bookings changed after the snapshot watermark; the snapshotted
+     * calendars themselves stay mapped until first used
+     */
+    private void replaySince(CalendarSnapshot snapshot, LocalDateTime from) {
+        LocalDateTime since = snapshot.watermark();
+        List<BookingInterval> released = bookingRepository.findReleasedIntervalsUpdatedAfter(from, since);
+        List<BookingInterval> confirmed = bookingRepository.findConfirmedIntervalsUpdatedAfter(from, since);
+
+        for (BookingInterval interval : released) {
+            release(interval.getStaffId(), interval.getId());
+        }
+        for (BookingInterval interval : confirmed) {
+            occupy(interval.getStaffId(), interval.getId(), interval.getStartTime(), interval.getEndTime());
+        }
+
+        log.info("Calendar engine restored {} staff calendars from snapshot, replayed {} bookings changed since {}",
+                snapshot.calendarKeys().size() + calendars.size(), released.size() + confirmed.size(), since);
+    }
+
+    private void loadAll(LocalDateTime from) {
+        List<BookingInterval> intervals = bookingRepository.findConfirmedIntervalsEndingAfter(from);
+
+        // Rows arrive ordered by staff member and start time
+        int i = 0;
+        while (i < intervals.size()) {
+            Long staffId = intervals.get(i).getStaffId();
+            int j = i;
+            while (j < intervals.size() && intervals.get(j).getStaffId().equals(staffId)) {
+                j++;
+            }
+
+            long[] ids = new long[j - i];
+            long[] starts = new long[j - i];
+            long[] ends = new long[j - i];
+            for (int k = i; k < j; k++) {
+                BookingInterval interval = intervals.get(k);
+                ids[k - i] = interval.getId();
+                starts[k - i] = floorMinute(interval.getStartTime());
+                ends[k - i] = ceilMinute(interval.getEndTime());
+            }
+            calendars.put(staffId, StaffCalendar.of(ids, starts, ends));
+            i = j;
+        }
+
+        log.info("Calendar engine loaded {} bookings for {} staff members", intervals.size(), calendars.size());
+    }
+
+    /**
+     * True if a confirmed booking of the staff member overlaps [startTime, endTime). Allocation-free.
+     */
+    public boolean conflicts(Long staffId, LocalDateTime startTime, LocalDateTime endTime) {
+        StaffCalendar calendar = calendar(staffId);
+        return calendar != null && calendar.overlaps(floorMinute(startTime), ceilMinute(endTime));
+    }
+
+    /**
+     * Like conflicts, ignoring the given booking, so a booking can be checked against its new time
+     */
+    public boolean conflictsExcept(Long staffId, LocalDateTime startTime, LocalDateTime endTime, Long bookingId) {
+        StaffCalendar calendar = calendar(staffId);
+        return calendar != null
+                && calendar.overlapsExcept(floorMinute(startTime), ceilMinute(endTime), bookingId);
+    }
+
+    /**
+     * First of the given staff members (in order) with no booking overlapping the range, or null
+     */
+    public Long firstFree(List<Long> staffIds, LocalDateTime startTime, LocalDateTime endTime) {
+        for (Long staffId : staffIds) {
+            if (!conflicts(staffId, startTime, endTime)) {
+                return staffId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Occupancy map of one staff member for the date, covering bookings that overlap it from
+     * the previous day too
+     */
+    public DayOccupancy dayOccupancy(Long staffId, LocalDate date, LocalTime breakStart, LocalTime breakEnd) {
+        StaffCalendar calendar = calendar(staffId);
+        if (calendar == null) {
+            calendar = StaffCalendar.EMPTY;
+        }
+        long dayStart = floorMinute(date.atStartOfDay());
+        // DayOccupancy spans two days so bookings running past midnight are kept
+        long horizonEnd = dayStart + 2L * 24 * 60;
+
+        return DayOccupancy.ofIntervals(date, dayStart, calendar.starts, calendar.ends,
+                calendar.firstCandidate(dayStart), calendar.lowerBound(horizonEnd), breakStart, breakEnd);
+    }
+
+    /**
+     * Runs ahead of the cache listeners, so recomputed availability already sees the change.
+     * Two writers of one booking commit in turn but their listeners may run in either order,
+     * so an event older than the last one applied for the booking is dropped.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        appliedChanges.compute(event.getBookingId(), (id, applied) -> {
+            if (applied != null && applied.sequence > event.getSequence()) {
+                log.debug("Dropped out-of-order change {} for booking {}", event.getSequence(), id);
+                return applied;
+            }
+            if (event.isOccupied()) {
+                occupy(event.getStaffId(), id, event.getStartTime(), event.getEndTime());
+            } else {
+                release(event.getStaffId(), id);
+            }
+            return new AppliedChange(event.getSequence(), ceilMinute(event.getEndTime()));
+        });
+    }
+
+    /**
+     * Drops bookings that ended before yesterday
+     */
+    @Scheduled(cron = "0 15 3 * * *")
+    public void pruneEnded() {
+        long cutoff = floorMinute(LocalDate.now().minusDays(1).atStartOfDay());
+        for (Long staffId : new ArrayList<>(calendars.keySet())) {
+            calendars.computeIfPresent(staffId, (id, calendar) -> {
+                StaffCalendar pruned = calendar.endedBefore(cutoff);
+                return pruned.size() == 0 ? null : pruned;
+            });
+        }
+        appliedChanges.values().removeIf(applied -> applied.endMinute < cutoff);
+    }
+
+    /**
+     * Every calendar, decoding any still only held by the mapped snapshot
+     */
+    Map<Long, StaffCalendar> snapshotView() {
+        CalendarSnapshot snapshot = snapshotStore.current();
+        if (snapshot != null) {
+            for (Long staffId : List.copyOf(snapshot.calendarKeys())) {
+                calendar(staffId);
+            }
+        }
+        return Map.copyOf(calendars);
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.builder()
+                .name("calendar-engine")
+                .size(calendars.values().stream().mapToInt(StaffCalendar::size).sum())
+                .build();
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private StaffCalendar calendar(Long staffId) {
+        StaffCalendar calendar = calendars.get(staffId);
+        if (calendar != null) {
+            return calendar;
+        }
+        CalendarSnapshot snapshot = snapshotStore.current();
+        if (snapshot == null || !snapshot.calendarKeys().contains(staffId)) {
+            return null;
+        }
+        return calendars.computeIfAbsent(staffId, this::restore);
+    }
+
+    /**
+     * Decodes the staff member's snapshotted calendar, dropping bookings the nightly prune would have
+     */
+    private StaffCalendar restore(Long staffId) {
+        CalendarSnapshot snapshot = snapshotStore.current();
+        StaffCalendar restored = snapshot == null ? null : snapshot.takeCalendar(staffId);
+        if (restored == null) {
+            return null;
+        }
+        snapshotStore.countRestored();
+        return restored.endedBefore(floorMinute(LocalDate.now().minusDays(1).atStartOfDay()));
+    }
+
+    private void occupy(Long staffId, long id, LocalDateTime startTime, LocalDateTime endTime) {
+        long start = floorMinute(startTime);
+        long end = ceilMinute(endTime);
+        calendars.compute(staffId, (key, calendar) -> {
+            StaffCalendar base = calendar != null ? calendar : restore(key);
+            return (base == null ? StaffCalendar.EMPTY : base).with(id, start, end);
+        });
+    }
+
+    private void release(Long staffId, long id) {
+        calendars.compute(staffId, (key, calendar) -> {
+            StaffCalendar base = calendar != null ? calendar : restore(key);
+            return base == null ? null : base.without(id);
+        });
+    }
+
+    private record AppliedChange(long sequence, long endMinute) {
+    }
+
+    // Minutes since the epoch of the local wall clock (no zone arithmetic involved)
+    private static long floorMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60L);
+    }
+
+    private static long ceilMinute(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC) + (time.getNano() > 0 ? 1 : 0);
+        return -Math.floorDiv(-seconds, 60L);
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.salon.calendar;
+
+import com.example.salon.cache.WeeklySchedule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only view of a calendar snapshot file, memory-mapped and decoded one entry at a time.
+ *
+ * Only the header and the index are read when the file is opened; a staff member's calendar or
+ * a business's schedule is decoded the first time it is taken, so opening costs the same
+ * however many bookings the file holds. Each entry can be taken once, after which the caller owns it.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header    int magic, int version, long watermark (epoch seconds, local wall clock),
+ *           int calendarCount, int scheduleCount
+ * index     calendarCount x (long staffId, long offset), then (long businessId, long offset)
+ *           for each schedule
+ * calendar  int n, long maxLength, n x long id, n x long start, n x long end
+ * schedule  7 x (byte configured, byte open, 4 x int second of day or -1),
+ *           int closedCount, closedCount x long epoch day
+ * </pre>
+ */
+final class CalendarSnapshot {
+
+    private static final int MAGIC = 0x53434C4E;
+    // 2: calendars are keyed by staff member instead of business
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+    private static final int INDEX_ENTRY_BYTES = 8 + 8;
+    private static final int DAY_BYTES = 1 + 1 + 4 * 4;
+    private static final int NO_TIME = -1;
+
+    private final MappedByteBuffer buffer;
+    private final LocalDateTime watermark;
+    private final Map<Long, Integer> calendarOffsets;
+    private final Map<Long, Integer> scheduleOffsets;
+
+    private CalendarSnapshot(MappedByteBuffer buffer, LocalDateTime watermark,
+                             Map<Long, Integer> calendarOffsets, Map<Long, Integer> scheduleOffsets) {
+        this.buffer = buffer;
+        this.watermark = watermark;
+        this.calendarOffsets = calendarOffsets;
+        this.scheduleOffsets = scheduleOffsets;
+    }
+
+    /**
+     * Maps the file and reads its index. Throws if the file is not a snapshot of this version.
+     */
+    static CalendarSnapshot open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a version " + VERSION + " calendar snapshot: " + path);
+        }
+        LocalDateTime watermark = LocalDateTime.ofEpochSecond(buffer.getLong(8), 0, ZoneOffset.UTC);
+        int calendarCount = buffer.getInt(16);
+        int scheduleCount = buffer.getInt(20);
+
+        int position = HEADER_BYTES;
+        Map<Long, Integer> calendarOffsets = new ConcurrentHashMap<>();
+        for (int i = 0; i < calendarCount; i++, position += INDEX_ENTRY_BYTES) {
+            calendarOffsets.put(buffer.getLong(position), checkedOffset(buffer, buffer.getLong(position + 8)));
+        }
+        Map<Long, Integer> scheduleOffsets = new ConcurrentHashMap<>();
+        for (int i = 0; i < scheduleCount; i++, position += INDEX_ENTRY_BYTES) {
+            scheduleOffsets.put(buffer.getLong(position), checkedOffset(buffer, buffer.getLong(position + 8)));
+        }
+
+        return new CalendarSnapshot(buffer, watermark, calendarOffsets, scheduleOffsets);
+    }
+
+    LocalDateTime watermark() {
+        return watermark;
+    }
+
+    Set<Long> calendarKeys() {
+        return calendarOffsets.keySet();
+    }
+
+    Set<Long> scheduleBusinessIds() {
+        return scheduleOffsets.keySet();
+    }
+
+    int remaining() {
+        return calendarOffsets.size() + scheduleOffsets.size();
+    }
+
+    /**
+     * Decodes and hands over the staff member's calendar, or null if the snapshot has none (left)
+     */
+    StaffCalendar takeCalendar(Long staffId) {
+        Integer offset = calendarOffsets.remove(staffId);
+        if (offset == null) {
+            return null;
+        }
+
+        int n = buffer.getInt(offset);
+        long maxLength = buffer.getLong(offset + 4);
+        int arrays = offset + 12;
+        long[] ids = new long[n];
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        // Absolute slices keep concurrent takes independent of the buffer's position
+        buffer.slice(arrays, n * 8).asLongBuffer().get(ids);
+        buffer.slice(arrays + n * 8, n * 8).asLongBuffer().get(starts);
+        buffer.slice(arrays + n * 16, n * 8).asLongBuffer().get(ends);
+        return new StaffCalendar(ids, starts, ends, maxLength);
+    }
+
+    /**
+     * Decodes and hands over the business's schedule, or null if the snapshot has none (left)
+     */
+    WeeklySchedule takeSchedule(Long businessId) {
+        Integer offset = scheduleOffsets.remove(businessId);
+        if (offset == null) {
+            return null;
+        }
+
+        Map<DayOfWeek, WeeklySchedule.DayHours> days = new EnumMap<>(DayOfWeek.class);
+        int position = offset;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (buffer.get(position) != 0) {
+                days.put(day, new WeeklySchedule.DayHours(
+                        buffer.get(position + 1) != 0,
+                        readTime(position + 2),
+                        readTime(position + 6),
+                        readTime(position + 10),
+                        readTime(position + 14)));
+            }
+            position += DAY_BYTES;
+        }
+
+        int closedCount = buffer.getInt(position);
+        position += 4;
+        // The snapshot may predate midnight; dates that have passed since are left out
+        long today = LocalDate.now().toEpochDay();
+        List<LocalDate> closed = new ArrayList<>(closedCount);
+        for (int i = 0; i < closedCount; i++, position += 8) {
+            long epochDay = buffer.getLong(position);
+            if (epochDay >= today) {
+                closed.add(LocalDate.ofEpochDay(epochDay));
+            }
+        }
+        return WeeklySchedule.of(days, closed);
+    }
+
+    boolean dropSchedule(Long businessId) {
+        return scheduleOffsets.remove(businessId) != null;
+    }
+
+    /**
+     * Writes a snapshot through a memory-mapped temporary file, then moves it over the old one,
+     * so readers only ever see a complete file. Returns the number of bytes written.
+     */
+    static long write(Path path, LocalDateTime watermark,
+                      Map<Long, StaffCalendar> calendars, Map<Long, WeeklySchedule> schedules) throws IOException {
+        long size = HEADER_BYTES + (long) (calendars.size() + schedules.size()) * INDEX_ENTRY_BYTES;
+        for (StaffCalendar calendar : calendars.values()) {
+            size += 12 + 24L * calendar.size();
+        }
+        for (WeeklySchedule schedule : schedules.values()) {
+            size += 7L * DAY_BYTES + 4 + 8L * schedule.closedDates().size();
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Calendar snapshot too large to map: " + size + " bytes");
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            out.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(watermark.toEpochSecond(ZoneOffset.UTC))
+                    .putInt(calendars.size())
+                    .putInt(schedules.size());
+
+            // Index first, then the records it points at
+            int indexPosition = out.position();
+            out.position(indexPosition + (calendars.size() + schedules.size()) * INDEX_ENTRY_BYTES);
+
+            for (Map.Entry<Long, StaffCalendar> entry : calendars.entrySet()) {
+                indexPosition = putIndexEntry(out, indexPosition, entry.getKey());
+                StaffCalendar calendar = entry.getValue();
+                out.putInt(calendar.size()).putLong(calendar.maxLength);
+                out.asLongBuffer().put(calendar.ids).put(calendar.starts).put(calendar.ends);
+                out.position(out.position() + 24 * calendar.size());
+            }
+            for (Map.Entry<Long, WeeklySchedule> entry : schedules.entrySet()) {
+                indexPosition = putIndexEntry(out, indexPosition, entry.getKey());
+                putSchedule(out, entry.getValue());
+            }
+
+            out.force();
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return size;
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private static int putIndexEntry(ByteBuffer out, int indexPosition, Long businessId) {
+        out.putLong(indexPosition, businessId);
+        out.putLong(indexPosition + 8, out.position());
+        return indexPosition + INDEX_ENTRY_BYTES;
+    }
+
+    private static void putSchedule(ByteBuffer out, WeeklySchedule schedule) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            WeeklySchedule.DayHours hours = schedule.hoursFor(day);
+            if (hours == null) {
+                out.put((byte) 0).put((byte) 0)
+                        .putInt(NO_TIME).putInt(NO_TIME).putInt(NO_TIME).putInt(NO_TIME);
+            } else {
+                out.put((byte) 1).put((byte) (hours.isOpen() ? 1 : 0))
+                        .putInt(timeToInt(hours.getOpenTime()))
+                        .putInt(timeToInt(hours.getCloseTime()))
+                        .putInt(timeToInt(hours.getBreakStartTime()))
+                        .putInt(timeToInt(hours.getBreakEndTime()));
+            }
+        }
+
+        out.putInt(schedule.closedDates().size());
+        for (LocalDate date : schedule.closedDates()) {
+            out.putLong(date.toEpochDay());
+        }
+    }
+
+    private LocalTime readTime(int position) {
+        int secondOfDay = buffer.getInt(position);
+        return secondOfDay == NO_TIME ? null : LocalTime.ofSecondOfDay(secondOfDay);
+    }
+
+    private static int timeToInt(LocalTime time) {
+        return time == null ? NO_TIME : time.toSecondOfDay();
+    }
+
+    private static int checkedOffset(ByteBuffer buffer, long offset) throws IOException {
+        if (offset < HEADER_BYTES || offset >= buffer.capacity()) {
+            throw new IOException("Corrupt calendar snapshot index");
+        }
+        return (int) offset;
+    }
+}
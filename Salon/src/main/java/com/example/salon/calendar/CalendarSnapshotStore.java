@@ -0,0 +1,138 @@
+package com.example.salon.calendar;
+
+import com.example.salon.cache.WeeklySchedule;
+import com.example.salon.dto.CacheStatsResponse;
+import com.example.salon.repository.BusinessRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Owns the calendar snapshot file (app.calendar.snapshot-path, blank disables it).
+ *
+ * At startup the previous snapshot is mapped and its schedules for businesses whose hours or
+ * closed dates changed after the watermark are dropped; the calendar engine replays changed
+ * bookings itself. Entries are decoded as they are first used, and the mapping is released
+ * once the next snapshot has been written, since by then everything lives on the heap.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarSnapshotStore {
+
+    private final BusinessRepository businessRepository;
+
+    @Value("${app.calendar.snapshot-path:}")
+    private String snapshotPath;
+
+    private volatile CalendarSnapshot snapshot;
+
+    private final LongAdder restored = new LongAdder();
+
+    @PostConstruct
+    void open() {
+        if (!isEnabled()) {
+            log.info("Calendar snapshot disabled");
+            return;
+        }
+
+        Path path = Path.of(snapshotPath);
+        if (!Files.exists(path)) {
+            log.info("No calendar snapshot at {}, loading the calendar from the database", path);
+            return;
+        }
+
+        try {
+            CalendarSnapshot opened = CalendarSnapshot.open(path);
+            List<Long> changed = businessRepository.findIdsWithScheduleUpdatedAfter(opened.watermark());
+            changed.forEach(opened::dropSchedule);
+            snapshot = opened;
+            log.info("Mapped calendar snapshot {} (watermark {}), {} schedules changed since",
+                    path, opened.watermark(), changed.size());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable calendar snapshot {}: {}", path, ex.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return !snapshotPath.isBlank();
+    }
+
+    /**
+     * The mapped snapshot, or null once it has been superseded (or if there was none)
+     */
+    CalendarSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Hands over the snapshotted schedule for the business, or null if there is none to restore
+     */
+    public WeeklySchedule takeSchedule(Long businessId) {
+        CalendarSnapshot current = snapshot;
+        WeeklySchedule schedule = current == null ? null : current.takeSchedule(businessId);
+        if (schedule != null) {
+            restored.increment();
+        }
+        return schedule;
+    }
+
+    /**
+     * Forgets the snapshotted schedule after the business's schedule changed
+     */
+    public void dropSchedule(Long businessId) {
+        CalendarSnapshot current = snapshot;
+        if (current != null) {
+            current.dropSchedule(businessId);
+        }
+    }
+
+    void countRestored() {
+        restored.increment();
+    }
+
+    /**
+     * Writes a new snapshot. Schedules still only held by the mapped snapshot are carried over,
+     * after which the old mapping is released.
+     */
+    void write(LocalDateTime watermark, Map<Long, StaffCalendar> calendars,
+               Map<Long, WeeklySchedule> schedules) throws IOException {
+        Map<Long, WeeklySchedule> allSchedules = new HashMap<>(schedules);
+        CalendarSnapshot current = snapshot;
+        if (current != null) {
+            for (Long businessId : List.copyOf(current.scheduleBusinessIds())) {
+                WeeklySchedule schedule = current.takeSchedule(businessId);
+                if (schedule != null) {
+                    allSchedules.putIfAbsent(businessId, schedule);
+                }
+            }
+        }
+
+        Path path = Path.of(snapshotPath);
+        long bytes = CalendarSnapshot.write(path, watermark, calendars, allSchedules);
+        snapshot = null;
+
+        log.info("Wrote calendar snapshot {} ({} bytes, {} calendars, {} schedules)",
+                path, bytes, calendars.size(), allSchedules.size());
+    }
+
+    public CacheStatsResponse stats() {
+        CalendarSnapshot current = snapshot;
+        return CacheStatsResponse.builder()
+                .name("calendar-snapshot")
+                .size(current == null ? 0 : current.remaining())
+                .hits(restored.sum())
+                .build();
+    }
+}
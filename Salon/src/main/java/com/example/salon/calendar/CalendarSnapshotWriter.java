@@ -0,0 +1,51 @@
+package com.example.salon.calendar;
+
+import com.example.salon.cache.WeeklyScheduleCache;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Periodically writes the calendar engine's bookings and the compiled schedules to the
+ * snapshot file, and once more on shutdown.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarSnapshotWriter {
+
+    // Booking transactions that set updated_at just before the watermark may commit after the
+    // state is copied; replay is idempotent, so the watermark is simply set back by this much
+    private static final Duration REPLAY_OVERLAP = Duration.ofMinutes(5);
+
+    private final CalendarSnapshotStore snapshotStore;
+    private final CalendarEngine calendarEngine;
+    private final WeeklyScheduleCache weeklyScheduleCache;
+
+    @Scheduled(initialDelayString = "${app.calendar.snapshot-interval-ms:600000}",
+            fixedDelayString = "${app.calendar.snapshot-interval-ms:600000}")
+    public void writeSnapshot() {
+        if (!snapshotStore.isEnabled()) {
+            return;
+        }
+
+        // Taken before the state is copied, so anything the copy misses is replayed
+        LocalDateTime watermark = LocalDateTime.now().minus(REPLAY_OVERLAP);
+        try {
+            snapshotStore.write(watermark, calendarEngine.snapshotView(), weeklyScheduleCache.entries());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write calendar snapshot: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void writeOnShutdown() {
+        writeSnapshot();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.salon.calendar;
+
+/**
+ * Immutable set of one staff member's confirmed bookings as parallel primitive arrays,
+ * sorted by start. Times are minutes since the epoch of the local wall clock.
+ * Updates return a new instance, so readers never lock.
+ */
+final class StaffCalendar {
+
+    static final StaffCalendar EMPTY = new StaffCalendar(new long[0], new long[0], new long[0], 0);
+
+    final long[] ids;
+    final long[] starts;
+    final long[] ends;
+    // Longest booking, bounds how far back an overlapping interval can start
+    final long maxLength;
+
+    StaffCalendar(long[] ids, long[] starts, long[] ends, long maxLength) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxLength = maxLength;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * True if any booking overlaps [from, to). Allocation-free.
+     */
+    boolean overlaps(long from, long to) {
+        return overlapsExcept(from, to, -1);
+    }
+
+    /**
+     * Like overlaps, ignoring the booking with the given id. Allocation-free.
+     */
+    boolean overlapsExcept(long from, long to, long exceptId) {
+        for (int i = firstCandidate(from), end = lowerBound(to); i < end; i++) {
+            if (ends[i] > from && ids[i] != exceptId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Index of the first booking that can overlap a range starting at the given minute
+     */
+    int firstCandidate(long from) {
+        return lowerBound(from - maxLength);
+    }
+
+    /**
+     * Index of the first booking starting at or after the given minute
+     */
+    int lowerBound(long minute) {
+        int lo = 0;
+        int hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < minute) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    StaffCalendar with(long id, long start, long end) {
+        StaffCalendar base = indexOf(id) >= 0 ? without(id) : this;
+        int at = base.lowerBound(start);
+        int n = base.ids.length;
+
+        long[] newIds = new long[n + 1];
+        long[] newStarts = new long[n + 1];
+        long[] newEnds = new long[n + 1];
+        System.arraycopy(base.ids, 0, newIds, 0, at);
+        System.arraycopy(base.starts, 0, newStarts, 0, at);
+        System.arraycopy(base.ends, 0, newEnds, 0, at);
+        newIds[at] = id;
+        newStarts[at] = start;
+        newEnds[at] = end;
+        System.arraycopy(base.ids, at, newIds, at + 1, n - at);
+        System.arraycopy(base.starts, at, newStarts, at + 1, n - at);
+        System.arraycopy(base.ends, at, newEnds, at + 1, n - at);
+
+        return new StaffCalendar(newIds, newStarts, newEnds, Math.max(base.maxLength, end - start));
+    }
+
+    StaffCalendar without(long id) {
+        int at = indexOf(id);
+        if (at < 0) {
+            return this;
+        }
+        int n = ids.length;
+
+        long[] newIds = new long[n - 1];
+        long[] newStarts = new long[n - 1];
+        long[] newEnds = new long[n - 1];
+        System.arraycopy(ids, 0, newIds, 0, at);
+        System.arraycopy(starts, 0, newStarts, 0, at);
+        System.arraycopy(ends, 0, newEnds, 0, at);
+        System.arraycopy(ids, at + 1, newIds, at, n - at - 1);
+        System.arraycopy(starts, at + 1, newStarts, at, n - at - 1);
+        System.arraycopy(ends, at + 1, newEnds, at, n - at - 1);
+
+        // maxLength is only an upper bound, so it is not shrunk here
+        return new StaffCalendar(newIds, newStarts, newEnds, maxLength);
+    }
+
+    /**
+     * Drops bookings that ended before the given minute
+     */
+    StaffCalendar endedBefore(long minute) {
+        int kept = 0;
+        for (long end : ends) {
+            if (end >= minute) {
+                kept++;
+            }
+        }
+        if (kept == ids.length) {
+            return this;
+        }
+
+        long[] newIds = new long[kept];
+        long[] newStarts = new long[kept];
+        long[] newEnds = new long[kept];
+        long newMaxLength = 0;
+        for (int i = 0, j = 0; i < ids.length; i++) {
+            if (ends[i] >= minute) {
+                newIds[j] = ids[i];
+                newStarts[j] = starts[i];
+                newEnds[j] = ends[i];
+                newMaxLength = Math.max(newMaxLength, ends[i] - starts[i]);
+                j++;
+            }
+        }
+        return new StaffCalendar(newIds, newStarts, newEnds, newMaxLength);
+    }
+
+    /**
+     * Builds a calendar from arrays already sorted by start
+     */
+    static StaffCalendar of(long[] ids, long[] starts, long[] ends) {
+        long maxLength = 0;
+        for (int i = 0; i < ids.length; i++) {
+            maxLength = Math.max(maxLength, ends[i] - starts[i]);
+        }
+        return new StaffCalendar(ids, starts, ends, maxLength);
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.salon.config;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on the second-level cached entities. Tells the {@link ReplicaLagGuard} when a
+ * write to one of them commits, so reads that could fill the cache stay on the primary until
+ * the replica has caught up. Resolved as a Spring bean through Hibernate's bean container.
+ */
+@Component
+@RequiredArgsConstructor
+public class CachedEntityWriteListener {
+
+    private final ReplicaLagGuard replicaLagGuard;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            replicaLagGuard.onCachedEntityWritten();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                replicaLagGuard.onCachedEntityWritten();
+            }
+        });
+    }
+}
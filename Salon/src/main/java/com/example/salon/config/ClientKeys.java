@@ -0,0 +1,99 @@
+package com.example.salon.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Identifies the client behind a request: the user when authenticated, otherwise the visitor.
+ *
+ * Public traffic arrives through the frontend, so every anonymous request shares its address.
+ * For requests from a configured trusted proxy the visitor is the {@value #VISITOR_HEADER} it
+ * sends (one per browser session), falling back to the client address in X-Forwarded-For.
+ * Requests from anywhere else are keyed by their own address and their headers are ignored,
+ * so a direct caller cannot choose its key. Must be called after the security filters have run.
+ */
+@Component
+public class ClientKeys {
+
+    public static final String VISITOR_HEADER = "X-Visitor-Id";
+
+    private static final Pattern VISITOR_ID = Pattern.compile("[A-Za-z0-9-]{16,64}");
+    // Only IP literals are matched, so a forwarded-for entry never causes a DNS lookup
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f.:]+");
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public ClientKeys(@Value("${app.client-keys.trusted-proxies:}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String of(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrustedProxy(remoteAddr)) {
+            return "addr:" + remoteAddr;
+        }
+
+        String visitorId = request.getHeader(VISITOR_HEADER);
+        if (visitorId != null && VISITOR_ID.matcher(visitorId).matches()) {
+            return "visitor:" + visitorId;
+        }
+        return "addr:" + forwardedClientAddress(request, remoteAddr);
+    }
+
+    /**
+     * True if the key stands for one user or visitor. An address key may be shared by everyone
+     * behind that address (the frontend, a NAT), so per-client state should not hang off it.
+     */
+    public static boolean isIndividual(String clientKey) {
+        return clientKey.startsWith("user:") || clientKey.startsWith("visitor:");
+    }
+
+    /**
+     * The last X-Forwarded-For entry not added by a trusted proxy; entries before it were
+     * supplied by the client and prove nothing
+     */
+    private String forwardedClientAddress(HttpServletRequest request, String remoteAddr) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (trustedProxies.isEmpty() || !IP_LITERAL.matcher(address).matches()) {
+            return false;
+        }
+        try {
+            return trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+        } catch (IllegalArgumentException ex) {
+            // Not a valid IP address
+            return false;
+        }
+    }
+}
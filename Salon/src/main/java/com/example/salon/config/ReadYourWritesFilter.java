@@ -0,0 +1,48 @@
+package com.example.salon.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Pins a client's reads to the primary for a short while after it writes, so it
+ * always sees its own changes even when the replica lags.
+ * Runs after the security filters. Only users and visitors are pinned (see {@link ClientKeys}):
+ * pinning an address would send the reads of everyone behind it to the primary.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final ReplicaLagGuard replicaLagGuard;
+    private final ClientKeys clientKeys;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String clientKey = clientKeys.of(request);
+
+        if (replicaLagGuard.isClientPinned(clientKey)) {
+            ReadReplicaContext.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadReplicaContext.clear();
+            if (WRITE_METHODS.contains(request.getMethod()) && response.getStatus() < 400
+                    && ClientKeys.isIndividual(clientKey)) {
+                replicaLagGuard.pinClient(clientKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.salon.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Primary/replica DataSource, active only when app.datasource.replica.url is set.
+ * Without it the application uses the single auto-configured DataSource as before.
+ *
+ * Both pools are beans, so the context closes them on shutdown, and both take the
+ * spring.datasource.hikari.* settings the auto-configured pool would have used.
+ * The replica only overrides its connection details and pool size.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.url:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig sharedPoolSettings() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    public HikariDataSource primaryDataSource(
+            HikariConfig sharedPoolSettings,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password) {
+        HikariConfig config = poolConfig(sharedPoolSettings, "primary", url, username, password);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            HikariConfig sharedPoolSettings,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password}}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:40}") int maxPoolSize) {
+        HikariConfig config = poolConfig(sharedPoolSettings, "replica", url, username, password);
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * The DataSource everything else uses; the pools above are only its targets
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 HikariDataSource replicaDataSource,
+                                 ReplicaLagGuard replicaLagGuard) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaLagGuard);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Target.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.Target.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        // Defer the routing decision until the transaction's read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private HikariConfig poolConfig(HikariConfig shared, String name, String url, String username, String password) {
+        HikariConfig config = new HikariConfig();
+        shared.copyStateTo(config);
+        config.setPoolName("salon-" + name);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        return config;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.salon.config;
+
+import com.example.salon.cache.AvailabilityChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes guard for the read replica.
+ *
+ * For a few seconds after a write, reads that must see it are pinned to the primary:
+ * reads by the client that wrote, and cache fills for the business that changed (a cache
+ * filled from a lagging replica would keep serving the stale value after the lag is gone).
+ * After a write to a second-level cached entity, all read-only transactions use the primary
+ * for the same window, so Hibernate's entity and query caches are never filled from a replica
+ * that has not caught up yet. Does nothing when no replica is configured.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private final boolean enabled;
+    private final long pinMillis;
+
+    private final Map<String, Long> pinnedClients = new ConcurrentHashMap<>();
+    private final Map<Long, Long> pinnedBusinesses = new ConcurrentHashMap<>();
+
+    private volatile long cachedEntitiesPinnedUntil;
+
+    public ReplicaLagGuard(@Value("${app.datasource.replica.url:}") String replicaUrl,
+                           @Value("${app.datasource.replica.pin-after-write-seconds:5}") long pinSeconds) {
+        this.enabled = !replicaUrl.isBlank() && pinSeconds > 0;
+        this.pinMillis = pinSeconds * 1000;
+    }
+
+    public void pinClient(String clientKey) {
+        if (enabled) {
+            pinnedClients.put(clientKey, System.currentTimeMillis() + pinMillis);
+        }
+    }
+
+    public boolean isClientPinned(String clientKey) {
+        return enabled && isPinned(pinnedClients.get(clientKey));
+    }
+
+    public boolean isBusinessPinned(Long businessId) {
+        return enabled && isPinned(pinnedBusinesses.get(businessId));
+    }
+
+    /**
+     * Called after a write to a second-level cached entity commits
+     */
+    public void onCachedEntityWritten() {
+        if (enabled) {
+            cachedEntitiesPinnedUntil = System.currentTimeMillis() + pinMillis;
+        }
+    }
+
+    /**
+     * True while a replica read could still return cached entities as they were before the last write
+     */
+    public boolean isCachedEntityWriteRecent() {
+        return enabled && cachedEntitiesPinnedUntil > System.currentTimeMillis();
+    }
+
+    /**
+     * Runs before the caches drop their entries, so a refill after the invalidation
+     * already sees the pin
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        if (enabled) {
+            pinnedBusinesses.put(event.getBusinessId(), System.currentTimeMillis() + pinMillis);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        pinnedClients.values().removeIf(until -> until <= now);
+        pinnedBusinesses.values().removeIf(until -> until <= now);
+    }
+
+    private boolean isPinned(Long until) {
+        return until != null && until > System.currentTimeMillis();
+    }
+}
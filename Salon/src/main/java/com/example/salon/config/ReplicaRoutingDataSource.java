@@ -0,0 +1,30 @@
+package com.example.salon.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy, so the lookup happens after the
+ * transaction's read-only flag has been set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public ReplicaRoutingDataSource(ReplicaLagGuard replicaLagGuard) {
+        this.replicaLagGuard = replicaLagGuard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly || ReadReplicaContext.isPrimaryRequired()) {
+            return Target.PRIMARY;
+        }
+        // Whatever this transaction loads may be put in the second-level cache
+        return replicaLagGuard.isCachedEntityWriteRecent() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
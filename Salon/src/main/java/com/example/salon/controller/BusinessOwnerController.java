@@ -2,6 +2,8 @@ package com.example.salon.controller;
 
 
 import com.example.salon.dto.*;
+import com.example.salon.model.Booking;
+import com.example.salon.security.AuthenticatedUser;
 import com.example.salon.service.BusinessHoursService;
 import com.example.salon.service.BusinessOwnerService;
 import jakarta.validation.Valid;
@@ -10,7 +12,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.DayOfWeek;
@@ -39,9 +41,8 @@ public class BusinessOwnerController {
      * GET /api/business/my-business
      */
     @GetMapping("/my-business")
-    public ResponseEntity<BusinessResponse> getMyBusiness(Authentication authentication) {
-        String username = authentication.getName();
-        BusinessResponse business = businessOwnerService.getMyBusiness(username);
+    public ResponseEntity<BusinessResponse> getMyBusiness(@AuthenticationPrincipal AuthenticatedUser owner) {
+        BusinessResponse business = businessOwnerService.getMyBusiness(owner);
         return ResponseEntity.ok(business);
     }
 
@@ -54,9 +55,8 @@ public class BusinessOwnerController {
      * GET /api/business/services
      */
     @GetMapping("/services")
-    public ResponseEntity<List<ServiceResponse>> getMyServices(Authentication authentication) {
-        String username = authentication.getName();
-        List<ServiceResponse> services = businessOwnerService.getMyServices(username);
+    public ResponseEntity<List<ServiceResponse>> getMyServices(@AuthenticationPrincipal AuthenticatedUser owner) {
+        List<ServiceResponse> services = businessOwnerService.getMyServices(owner);
         return ResponseEntity.ok(services);
     }
 
@@ -66,10 +66,9 @@ public class BusinessOwnerController {
      */
     @PostMapping("/services")
     public ResponseEntity<ServiceResponse> addService(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser owner,
             @Valid @RequestBody ServiceRequest request) {
-        String username = authentication.getName();
-        ServiceResponse service = businessOwnerService.addService(username, request);
+        ServiceResponse service = businessOwnerService.addService(owner, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(service);
     }
 
@@ -79,11 +78,10 @@ public class BusinessOwnerController {
      */
     @PutMapping("/services/{serviceId}")
     public ResponseEntity<ServiceResponse> updateService(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser owner,
             @PathVariable Long serviceId,
             @Valid @RequestBody ServiceRequest request) {
-        String username = authentication.getName();
-        ServiceResponse service = businessOwnerService.updateService(username, serviceId, request);
+        ServiceResponse service = businessOwnerService.updateService(owner, serviceId, request);
         return ResponseEntity.ok(service);
     }
 
@@ -93,10 +91,60 @@ public class BusinessOwnerController {
      */
     @DeleteMapping("/services/{serviceId}")
     public ResponseEntity<Void> deleteService(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser owner,
             @PathVariable Long serviceId) {
-        String username = authentication.getName();
-        businessOwnerService.deleteService(username, serviceId);
+        businessOwnerService.deleteService(owner, serviceId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // ============================================
+    // STAFF MANAGEMENT
+    // ============================================
+
+    /**
+     * Get MY active staff members (chairs)
+     * GET /api/business/staff
+     */
+    @GetMapping("/staff")
+    public ResponseEntity<List<StaffResponse>> getMyStaff(@AuthenticationPrincipal AuthenticatedUser owner) {
+        List<StaffResponse> staff = businessOwnerService.getMyStaff(owner);
+        return ResponseEntity.ok(staff);
+    }
+
+    /**
+     * Add a staff member to MY business
+     * POST /api/business/staff
+     */
+    @PostMapping("/staff")
+    public ResponseEntity<StaffResponse> addStaff(
+            @AuthenticationPrincipal AuthenticatedUser owner,
+            @Valid @RequestBody StaffRequest request) {
+        StaffResponse staff = businessOwnerService.addStaff(owner, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(staff);
+    }
+
+    /**
+     * Update MY staff member's name and services
+     * PUT /api/business/staff/{staffId}
+     */
+    @PutMapping("/staff/{staffId}")
+    public ResponseEntity<StaffResponse> updateStaff(
+            @AuthenticationPrincipal AuthenticatedUser owner,
+            @PathVariable Long staffId,
+            @Valid @RequestBody StaffRequest request) {
+        StaffResponse staff = businessOwnerService.updateStaff(owner, staffId, request);
+        return ResponseEntity.ok(staff);
+    }
+
+    /**
+     * Remove (deactivate) MY staff member
+     * DELETE /api/business/staff/{staffId}
+     */
+    @DeleteMapping("/staff/{staffId}")
+    public ResponseEntity<Void> removeStaff(
+            @AuthenticationPrincipal AuthenticatedUser owner,
+            @PathVariable Long staffId) {
+        businessOwnerService.removeStaff(owner, staffId);
         return ResponseEntity.noContent().build();
     }
 
@@ -105,14 +153,20 @@ public class BusinessOwnerController {
     // ============================================
 
     /**
-     * Get ALL MY bookings
-     * GET /api/business/bookings
+     * Get MY bookings one page at a time (newest first)
+     * GET /api/business/bookings?status=CONFIRMED&from=2025-01-01&to=2025-01-31&limit=50&cursor=...
+     * /bookings/history is kept as an alias for existing clients.
      */
-    @GetMapping("/bookings")
-    public ResponseEntity<List<BookingResponse>> getAllMyBookings(Authentication authentication) {
-        String username = authentication.getName();
-        List<BookingResponse> bookings = businessOwnerService.getAllMyBookings(username);
-        return ResponseEntity.ok(bookings);
+    @GetMapping({"/bookings", "/bookings/history"})
+    public ResponseEntity<BookingPageResponse> getMyBookingHistory(
+            @AuthenticationPrincipal AuthenticatedUser owner,
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        BookingPageResponse page = businessOwnerService.getMyBookingHistory(owner, status, from, to, cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
     /**
@@ -121,10 +175,9 @@ public class BusinessOwnerController {
      */
     @GetMapping("/bookings/date")
     public ResponseEntity<List<BookingResponse>> getMyBookingsByDate(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser owner,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        String username = authentication.getName();
-        List<BookingResponse> bookings = businessOwnerService.getMyBookingsByDate(username, date);
+        List<BookingResponse> bookings = businessOwnerService.getMyBookingsByDate(owner, date);
         return ResponseEntity.ok(bookings);
     }
 
@@ -133,10 +186,9 @@ public class BusinessOwnerController {
      * GET /api/business/bookings/today
      */
     @GetMapping("/bookings/today")
-    public ResponseEntity<List<BookingResponse>> getTodayBookings(Authentication authentication) {
-        String username = authentication.getName();
+    public ResponseEntity<List<BookingResponse>> getTodayBookings(@AuthenticationPrincipal AuthenticatedUser owner) {
         List<BookingResponse> bookings = businessOwnerService.getMyBookingsByDate(
-                username,
+                owner,
                 LocalDate.now()
         );
         return ResponseEntity.ok(bookings);
@@ -148,10 +200,9 @@ public class BusinessOwnerController {
      */
     @PatchMapping("/bookings/{bookingId}/complete")
     public ResponseEntity<BookingResponse> completeBooking(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser owner,
             @PathVariable Long bookingId) {
-        String username = authentication.getName();
-        BookingResponse booking = businessOwnerService.completeBooking(username, bookingId);
+        BookingResponse booking = businessOwnerService.completeBooking(owner, bookingId);
         return ResponseEntity.ok(booking);
     }
 
@@ -161,10 +212,22 @@ public class BusinessOwnerController {
      */
     @PatchMapping("/bookings/{bookingId}/cancel")
     public ResponseEntity<BookingResponse> cancelBooking(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser owner,
             @PathVariable Long bookingId) {
-        String username = authentication.getName();
-        BookingResponse booking = businessOwnerService.cancelBooking(username, bookingId);
+        BookingResponse booking = businessOwnerService.cancelBooking(owner, bookingId);
+        return ResponseEntity.ok(booking);
+    }
+
+    /**
+     * Move booking to a new start time
+     * PATCH /api/business/bookings/{bookingId}/reschedule
+     */
+    @PatchMapping("/bookings/{bookingId}/reschedule")
+    public ResponseEntity<BookingResponse> rescheduleBooking(
+            @AuthenticationPrincipal AuthenticatedUser owner,
+            @PathVariable Long bookingId,
+            @Valid @RequestBody RescheduleRequest request) {
+        BookingResponse booking = businessOwnerService.rescheduleBooking(owner, bookingId, request);
         return ResponseEntity.ok(booking);
     }
 
@@ -177,10 +240,8 @@ public class BusinessOwnerController {
      * GET /api/business/hours
      */
     @GetMapping("/hours")
-    public ResponseEntity<List<BusinessHoursDto>> getBusinessHours(Authentication authentication) {
-        String username = authentication.getName();
-        BusinessResponse business = businessOwnerService.getMyBusiness(username);
-        List<BusinessHoursDto> hours = businessHoursService.getBusinessHours(business.getId());
+    public ResponseEntity<List<BusinessHoursDto>> getBusinessHours(@AuthenticationPrincipal AuthenticatedUser owner) {
+        List<BusinessHoursDto> hours = businessHoursService.getBusinessHours(owner.requireBusinessId());
         return ResponseEntity.ok(hours);
     }
 
@@ -190,12 +251,10 @@ public class BusinessOwnerController {
      */
     @PutMapping("/hours/{dayOfWeek}")
     public ResponseEntity<BusinessHoursDto> updateBusinessHours(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser owner,
             @PathVariable DayOfWeek dayOfWeek,
             @Valid @RequestBody BusinessHoursDto request) {
-        String username = authentication.getName();
-        BusinessResponse business = businessOwnerService.getMyBusiness(username);
-        BusinessHoursDto hours = businessHoursService.updateBusinessHours(business.getId(), dayOfWeek, request);
+        BusinessHoursDto hours = businessHoursService.updateBusinessHours(owner.requireBusinessId(), dayOfWeek, request);
         return ResponseEntity.ok(hours);
     }
 
@@ -204,10 +263,8 @@ public class BusinessOwnerController {
      * GET /api/business/closed-dates
      */
     @GetMapping("/closed-dates")
-    public ResponseEntity<List<ClosedDateDto>> getClosedDates(Authentication authentication) {
-        String username = authentication.getName();
-        BusinessResponse business = businessOwnerService.getMyBusiness(username);
-        List<ClosedDateDto> closedDates = businessHoursService.getClosedDates(business.getId());
+    public ResponseEntity<List<ClosedDateDto>> getClosedDates(@AuthenticationPrincipal AuthenticatedUser owner) {
+        List<ClosedDateDto> closedDates = businessHoursService.getClosedDates(owner.requireBusinessId());
         return ResponseEntity.ok(closedDates);
     }
 
@@ -217,11 +274,9 @@ public class BusinessOwnerController {
      */
     @PostMapping("/closed-dates")
     public ResponseEntity<ClosedDateDto> addClosedDate(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser owner,
             @Valid @RequestBody ClosedDateDto request) {
-        String username = authentication.getName();
-        BusinessResponse business = businessOwnerService.getMyBusiness(username);
-        ClosedDateDto closedDate = businessHoursService.addClosedDate(business.getId(), request);
+        ClosedDateDto closedDate = businessHoursService.addClosedDate(owner.requireBusinessId(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(closedDate);
     }
 
@@ -230,8 +285,10 @@ public class BusinessOwnerController {
      * DELETE /api/business/closed-dates/{closedDateId}
      */
     @DeleteMapping("/closed-dates/{closedDateId}")
-    public ResponseEntity<Void> deleteClosedDate(@PathVariable Long closedDateId) {
-        businessHoursService.deleteClosedDate(closedDateId);
+    public ResponseEntity<Void> deleteClosedDate(
+            @AuthenticationPrincipal AuthenticatedUser owner,
+            @PathVariable Long closedDateId) {
+        businessHoursService.deleteClosedDate(owner.requireBusinessId(), closedDateId);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,60 @@
+package com.example.salon.controller;
+
+import com.example.salon.cache.AvailabilityCache;
+import com.example.salon.cache.AvailabilityCoalescer;
+import com.example.salon.cache.BusinessDirectory;
+import com.example.salon.cache.SecondLevelCacheStats;
+import com.example.salon.cache.WeeklyScheduleCache;
+import com.example.salon.calendar.CalendarEngine;
+import com.example.salon.calendar.CalendarSnapshotStore;
+import com.example.salon.dto.CacheStatsResponse;
+import com.example.salon.dto.CoalescingStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache statistics for SYSTEM_ADMIN, used to size the in-memory caches
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('SYSTEM_ADMIN')")
+public class CacheController {
+
+    private final AvailabilityCache availabilityCache;
+    private final BusinessDirectory businessDirectory;
+    private final WeeklyScheduleCache weeklyScheduleCache;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+    private final AvailabilityCoalescer availabilityCoalescer;
+    private final CalendarEngine calendarEngine;
+    private final CalendarSnapshotStore calendarSnapshotStore;
+
+    /**
+     * Hit/miss/eviction counters for every cache
+     * GET /api/admin/cache/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsResponse>> getStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>(List.of(
+                availabilityCache.stats(), businessDirectory.stats(), weeklyScheduleCache.stats(),
+                calendarEngine.stats(), calendarSnapshotStore.stats()));
+        stats.addAll(secondLevelCacheStats.stats());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Single-flight counters for availability cache misses, including the coalescing ratio
+     * GET /api/admin/cache/coalescing
+     */
+    @GetMapping("/coalescing")
+    public ResponseEntity<CoalescingStatsResponse> getCoalescingStats() {
+        return ResponseEntity.ok(availabilityCoalescer.stats());
+    }
+}
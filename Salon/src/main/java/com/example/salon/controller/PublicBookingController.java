@@ -1,12 +1,18 @@
 package com.example.salon.controller;
 
+import com.example.salon.config.ClientKeys;
+import com.example.salon.dto.AvailableTimeSlot;
 import com.example.salon.dto.AvailableTimesResponse;
 import com.example.salon.dto.BookingRequest;
 import com.example.salon.dto.BookingResponse;
 import com.example.salon.dto.ServiceResponse;
+import com.example.salon.dto.SlotHoldRequest;
+import com.example.salon.dto.SlotHoldResponse;
 import com.example.salon.service.BookingService;
 import com.example.salon.service.ServiceManagementService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -16,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/public/{businessSlug}")
@@ -25,6 +32,7 @@ public class PublicBookingController {
 
     private final BookingService bookingService;
     private final ServiceManagementService serviceManagementService;
+    private final ClientKeys clientKeys;
 
     @GetMapping("/services")
     public ResponseEntity<List<ServiceResponse>> getServices(@PathVariable String businessSlug) {
@@ -35,11 +43,32 @@ public class PublicBookingController {
     @PostMapping("/bookings")
     public ResponseEntity<BookingResponse> createBooking(
             @PathVariable String businessSlug,
-            @Valid @RequestBody BookingRequest request) {
-        BookingResponse booking = bookingService.createBooking(businessSlug, request);
+            @RequestHeader(value = "Idempotency-Key", required = false) @Size(max = 100) String idempotencyKey,
+            @Valid @RequestBody BookingRequest request,
+            HttpServletRequest servletRequest) {
+        BookingResponse booking = bookingService.createBooking(businessSlug, request, idempotencyKey,
+                clientKeys.of(servletRequest));
         return ResponseEntity.status(HttpStatus.CREATED).body(booking);
     }
 
+    @PostMapping("/holds")
+    public ResponseEntity<SlotHoldResponse> holdSlot(
+            @PathVariable String businessSlug,
+            @Valid @RequestBody SlotHoldRequest request,
+            HttpServletRequest servletRequest) {
+        SlotHoldResponse hold = bookingService.holdSlot(businessSlug, request, clientKeys.of(servletRequest));
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    @DeleteMapping("/holds/{token}")
+    public ResponseEntity<Void> releaseHold(
+            @PathVariable String businessSlug,
+            @PathVariable String token,
+            HttpServletRequest servletRequest) {
+        bookingService.releaseHold(businessSlug, token, clientKeys.of(servletRequest));
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/bookings")
     public ResponseEntity<List<BookingResponse>> getBookingsByDate(
             @PathVariable String businessSlug,
@@ -48,20 +77,39 @@ public class PublicBookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    /**
+     * Served asynchronously: the servlet thread is released while a cache miss is computed
+     */
     @GetMapping("/available-times")
-    public ResponseEntity<AvailableTimesResponse> getAvailableTimeSlots(
+    public CompletableFuture<ResponseEntity<AvailableTimesResponse>> getAvailableTimeSlots(
             @PathVariable String businessSlug,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestParam Long serviceId) {
-        log.info("Getting available time slots for business: {}, date: {}, serviceId: {}", 
+        log.debug("Getting available time slots for business: {}, date: {}, serviceId: {}",
                 businessSlug, date, serviceId);
-        try {
-            AvailableTimesResponse availableTimes = bookingService.getAvailableTimeSlots(businessSlug, date, serviceId);
-            log.info("Returning {} time slots", availableTimes.getTimeSlots().size());
-            return ResponseEntity.ok(availableTimes);
-        } catch (Exception e) {
-            log.error("Error getting available time slots", e);
-            throw e;
-        }
+        return bookingService.getAvailableTimeSlotsAsync(businessSlug, date, serviceId)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/available-times/range")
+    public ResponseEntity<List<AvailableTimesResponse>> getAvailableTimeSlotsForRange(
+            @PathVariable String businessSlug,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam Long serviceId) {
+        log.info("Getting available time slots for business: {}, from: {}, to: {}, serviceId: {}",
+                businessSlug, from, to, serviceId);
+        List<AvailableTimesResponse> days = bookingService.getAvailableTimeSlotsForRange(businessSlug, from, to, serviceId);
+        return ResponseEntity.ok(days);
+    }
+
+    @GetMapping("/next-available")
+    public ResponseEntity<List<AvailableTimeSlot>> getNextAvailableSlots(
+            @PathVariable String businessSlug,
+            @RequestParam Long serviceId,
+            @RequestParam(defaultValue = "3") int limit,
+            @RequestParam(defaultValue = "30") int days) {
+        List<AvailableTimeSlot> slots = bookingService.findNextAvailableSlots(businessSlug, serviceId, limit, days);
+        return ResponseEntity.ok(slots);
     }
 }
\ No newline at end of file
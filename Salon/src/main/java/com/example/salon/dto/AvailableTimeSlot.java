@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -15,4 +16,6 @@ public class AvailableTimeSlot {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private boolean available;
+    // Staff members free for the whole slot, in the order bookings would be assigned to them
+    private List<Long> availableStaffIds;
 }
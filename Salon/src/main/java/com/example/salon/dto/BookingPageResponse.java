@@ -0,0 +1,18 @@
+package com.example.salon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageResponse {
+    private List<BookingResponse> bookings;
+    private String nextCursor;  // null when there are no more pages
+    private boolean hasMore;
+}
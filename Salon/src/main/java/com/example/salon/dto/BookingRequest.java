@@ -27,4 +27,11 @@ public class BookingRequest {
     @NotBlank
     @Pattern(regexp = "^[+]?[0-9]{8,15}$", message = "Phone number must be 8-15 digits, optionally starting with +")
     private String customerPhone;
-}
\ No newline at end of file
+
+    // Optional; when left out the booking goes to any free staff member who performs the service
+    private Long staffId;
+
+    // Optional token from POST /holds; the held slot is then reserved for this booking
+    @Size(max = 64)
+    private String holdToken;
+}
@@ -14,6 +14,8 @@ import java.time.LocalDateTime;
 public class BookingResponse {
     private Long id;
     private ServiceResponse service;
+    private Long staffId;
+    private String staffName;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String customerName;
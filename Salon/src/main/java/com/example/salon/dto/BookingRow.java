@@ -0,0 +1,53 @@
+package com.example.salon.dto;
+
+import com.example.salon.model.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read-only projection of a booking joined with its service and staff member.
+ * Filled by JPQL constructor expressions so booking lists need no entity
+ * hydration and no lazy load of Booking.service per row.
+ */
+@Data
+@AllArgsConstructor
+public class BookingRow {
+    private Long id;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String customerName;
+    private String customerPhone;
+    private Booking.BookingStatus status;
+    private LocalDateTime createdAt;
+    private Long serviceId;
+    private String serviceName;
+    private Integer serviceDurationMinutes;
+    private BigDecimal servicePrice;
+    private Boolean serviceActive;
+    private Long staffId;
+    private String staffName;
+
+    public BookingResponse toResponse() {
+        return BookingResponse.builder()
+                .id(id)
+                .service(ServiceResponse.builder()
+                        .id(serviceId)
+                        .name(serviceName)
+                        .durationMinutes(serviceDurationMinutes)
+                        .price(servicePrice)
+                        .active(serviceActive)
+                        .build())
+                .startTime(startTime)
+                .endTime(endTime)
+                .staffId(staffId)
+                .staffName(staffName)
+                .customerName(customerName)
+                .customerPhone(customerPhone)
+                .status(status.name())
+                .createdAt(createdAt)
+                .build();
+    }
+}
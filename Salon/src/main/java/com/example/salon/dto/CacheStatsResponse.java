@@ -0,0 +1,20 @@
+package com.example.salon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+    private String name;
+    private long size;
+    private long maxEntries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+}
@@ -0,0 +1,20 @@
+package com.example.salon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescingStatsResponse {
+    private String name;
+    private long inFlight;
+    private long maxInFlight;
+    private long computations;   // requests that started a computation
+    private long coalesced;      // requests that joined one already in flight
+    private long bypassed;       // requests computed alone because the in-flight table was full
+    private double coalescingRatio;
+}
@@ -0,0 +1,26 @@
+package com.example.salon.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHoldRequest {
+    @NotNull
+    private Long serviceId;
+
+    @NotNull
+    @Future
+    private LocalDateTime startTime;
+
+    // Optional; when left out any free staff member who performs the service is held
+    private Long staffId;
+}
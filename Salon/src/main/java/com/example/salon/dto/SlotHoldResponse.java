@@ -0,0 +1,21 @@
+package com.example.salon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHoldResponse {
+    private String token;
+    private Long serviceId;
+    private Long staffId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private LocalDateTime expiresAt;
+}
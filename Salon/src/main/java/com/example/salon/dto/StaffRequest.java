@@ -0,0 +1,23 @@
+package com.example.salon.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffRequest {
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    // Services this staff member performs; leave empty for all services
+    private Set<Long> serviceIds;
+}
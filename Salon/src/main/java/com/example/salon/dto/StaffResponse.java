@@ -0,0 +1,19 @@
+package com.example.salon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffResponse {
+    private Long id;
+    private String name;
+    private Boolean active;
+    private List<Long> serviceIds;
+}
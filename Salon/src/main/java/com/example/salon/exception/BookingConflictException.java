@@ -1,7 +1,24 @@
 package com.example.salon.exception;
 
+import com.example.salon.dto.AvailableTimeSlot;
+
+import java.util.List;
+
 public class BookingConflictException extends RuntimeException {
+
+    // Nearest free slots around the requested time, empty when none were looked up
+    private final List<AvailableTimeSlot> alternatives;
+
     public BookingConflictException(String message) {
+        this(message, List.of());
+    }
+
+    public BookingConflictException(String message, List<AvailableTimeSlot> alternatives) {
         super(message);
+        this.alternatives = alternatives;
+    }
+
+    public List<AvailableTimeSlot> getAlternatives() {
+        return alternatives;
     }
 }
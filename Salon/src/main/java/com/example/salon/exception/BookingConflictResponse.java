@@ -0,0 +1,17 @@
+package com.example.salon.exception;
+
+import com.example.salon.dto.AvailableTimeSlot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BookingConflictResponse {
+    private int status;
+    private String message;
+    private List<AvailableTimeSlot> alternatives;
+    private LocalDateTime timestamp;
+}
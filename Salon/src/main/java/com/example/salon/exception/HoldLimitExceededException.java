@@ -0,0 +1,7 @@
+package com.example.salon.exception;
+
+public class HoldLimitExceededException extends RuntimeException {
+    public HoldLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.salon.hold;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-level hashed timer wheel. Scheduling and expiring an item are O(1);
+ * each tick only touches the items due in that tick's bucket.
+ * Delays longer than one revolution of the wheel are not supported.
+ */
+final class ExpiryWheel<T> {
+
+    private final List<List<T>> buckets;
+    private final long tickMillis;
+    private int cursor;
+
+    ExpiryWheel(int size, long tickMillis) {
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.tickMillis = tickMillis;
+    }
+
+    long maxDelayMillis() {
+        return (buckets.size() - 1) * tickMillis;
+    }
+
+    synchronized void schedule(T item, long delayMillis) {
+        if (delayMillis > maxDelayMillis()) {
+            throw new IllegalArgumentException("Delay exceeds timer wheel span: " + delayMillis + "ms");
+        }
+        // Round up so an item never expires before its deadline
+        int ticks = (int) Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        buckets.get((cursor + ticks) % buckets.size()).add(item);
+    }
+
+    /**
+     * Moves the wheel forward one tick and returns the items that became due.
+     */
+    synchronized List<T> advance() {
+        cursor = (cursor + 1) % buckets.size();
+        List<T> bucket = buckets.get(cursor);
+        if (bucket.isEmpty()) {
+            return List.of();
+        }
+        List<T> due = new ArrayList<>(bucket);
+        bucket.clear();
+        return due;
+    }
+}
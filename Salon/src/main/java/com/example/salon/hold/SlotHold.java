@@ -0,0 +1,34 @@
+package com.example.salon.hold;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A short-lived reservation of one staff member's time range while the customer completes checkout.
+ * Holds are compared by identity so a released and re-placed hold is never confused
+ * with the expired one still sitting in the timer wheel.
+ */
+@Getter
+@AllArgsConstructor
+public final class SlotHold {
+
+    private final String token;
+    private final Long businessId;
+    private final Long staffId;
+    private final Long serviceId;
+    // The client that placed the hold; only it may book or release with the token
+    private final String clientKey;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final LocalDateTime expiresAt;
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return start.isBefore(endTime) && end.isAfter(startTime);
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !now.isBefore(expiresAt);
+    }
+}
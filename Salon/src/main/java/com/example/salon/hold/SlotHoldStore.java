@@ -0,0 +1,197 @@
+package com.example.salon.hold;
+
+import com.example.salon.exception.HoldLimitExceededException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory store of active slot holds.
+ * Holds expire through an {@link ExpiryWheel} ticking once per second, so there is
+ * never a full scan of the store. Each client and each business may only have a few
+ * holds at a time (app.holds.max-per-client, app.holds.max-per-business), so one client
+ * cannot keep a salon's slots on hold.
+ */
+@Component
+@Slf4j
+public class SlotHoldStore {
+
+    private static final int WHEEL_SIZE = 1024;
+    private static final long TICK_MILLIS = 1000;
+
+    private final Duration ttl;
+    private final int maxPerClient;
+    private final int maxPerBusiness;
+    private final Map<String, SlotHold> holdsByToken = new ConcurrentHashMap<>();
+    // Sets are created on the first hold and removed with the last, always inside compute
+    private final Map<Long, Set<SlotHold>> holdsByBusiness = new ConcurrentHashMap<>();
+    private final Map<String, Set<SlotHold>> holdsByClient = new ConcurrentHashMap<>();
+    private final ExpiryWheel<SlotHold> wheel = new ExpiryWheel<>(WHEEL_SIZE, TICK_MILLIS);
+
+    private ScheduledExecutorService ticker;
+
+    public SlotHoldStore(@Value("${app.holds.ttl-seconds:300}") long ttlSeconds,
+                         @Value("${app.holds.max-per-client:3}") int maxPerClient,
+                         @Value("${app.holds.max-per-business:20}") int maxPerBusiness) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxPerClient = maxPerClient;
+        this.maxPerBusiness = maxPerBusiness;
+        if (ttl.toMillis() > wheel.maxDelayMillis()) {
+            throw new IllegalStateException("app.holds.ttl-seconds cannot exceed " + wheel.maxDelayMillis() / 1000);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "slot-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expireDue, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Places a hold on the staff member for the client unless another active hold of theirs
+     * overlaps the range. Returns empty if the range is already held; throws if the client or
+     * the business already has as many holds as allowed.
+     */
+    public Optional<SlotHold> place(Long businessId, Long staffId, Long serviceId,
+                                    LocalDateTime startTime, LocalDateTime endTime, String clientKey) {
+        LocalDateTime now = LocalDateTime.now();
+        SlotHold hold = new SlotHold(UUID.randomUUID().toString(), businessId, staffId, serviceId, clientKey,
+                startTime, endTime, now.plus(ttl));
+        AtomicBoolean placed = new AtomicBoolean();
+
+        // compute keeps the checks and the insert atomic per business, and per client inside it
+        holdsByBusiness.compute(businessId, (id, businessHolds) -> {
+            Set<SlotHold> holds = businessHolds != null ? businessHolds : ConcurrentHashMap.newKeySet();
+            boolean taken = holds.stream()
+                    .anyMatch(h -> h.getStaffId().equals(staffId) && !h.isExpired(now) && h.overlaps(startTime, endTime));
+            if (taken) {
+                return businessHolds;
+            }
+            if (countActive(holds, now) >= maxPerBusiness) {
+                throw new HoldLimitExceededException("Too many slots are on hold at this business, please try again shortly");
+            }
+
+            holdsByClient.compute(clientKey, (key, clientHolds) -> {
+                Set<SlotHold> own = clientHolds != null ? clientHolds : ConcurrentHashMap.newKeySet();
+                if (countActive(own, now) >= maxPerClient) {
+                    throw new HoldLimitExceededException("Too many slots on hold, release one before holding another");
+                }
+                own.add(hold);
+                return own;
+            });
+            holds.add(hold);
+            placed.set(true);
+            return holds;
+        });
+
+        if (!placed.get()) {
+            return Optional.empty();
+        }
+        holdsByToken.put(hold.getToken(), hold);
+        wheel.schedule(hold, ttl.toMillis());
+
+        log.debug("Slot hold {} placed for business {} at {}", hold.getToken(), businessId, startTime);
+        return Optional.of(hold);
+    }
+
+    public Optional<SlotHold> find(String token) {
+        SlotHold hold = holdsByToken.get(token);
+        if (hold == null || hold.isExpired(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(hold);
+    }
+
+    public void release(String token) {
+        SlotHold hold = holdsByToken.remove(token);
+        if (hold != null) {
+            remove(hold);
+        }
+    }
+
+    /**
+     * True if an active hold on the staff member other than the given token overlaps the range
+     */
+    public boolean isHeld(Long businessId, Long staffId, LocalDateTime startTime, LocalDateTime endTime,
+                          String exceptToken) {
+        Set<SlotHold> businessHolds = holdsByBusiness.get(businessId);
+        if (businessHolds == null) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return businessHolds.stream()
+                .anyMatch(hold -> hold.getStaffId().equals(staffId)
+                        && !hold.getToken().equals(exceptToken)
+                        && !hold.isExpired(now)
+                        && hold.overlaps(startTime, endTime));
+    }
+
+    /**
+     * Active holds for a business starting on the given date
+     */
+    public List<SlotHold> findActive(Long businessId, LocalDate date) {
+        Set<SlotHold> businessHolds = holdsByBusiness.get(businessId);
+        if (businessHolds == null || businessHolds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return businessHolds.stream()
+                .filter(hold -> !hold.isExpired(now) && hold.getStartTime().toLocalDate().equals(date))
+                .collect(Collectors.toList());
+    }
+
+    private void expireDue() {
+        try {
+            for (SlotHold hold : wheel.advance()) {
+                // Only drop the hold if it is still the one registered under its token
+                if (holdsByToken.remove(hold.getToken(), hold)) {
+                    log.debug("Slot hold {} expired", hold.getToken());
+                }
+                remove(hold);
+            }
+        } catch (Exception ex) {
+            log.error("Failed to expire slot holds", ex);
+        }
+    }
+
+    private void remove(SlotHold hold) {
+        holdsByBusiness.computeIfPresent(hold.getBusinessId(), (id, holds) -> removeFrom(holds, hold));
+        holdsByClient.computeIfPresent(hold.getClientKey(), (key, holds) -> removeFrom(holds, hold));
+    }
+
+    // Returning null drops the mapping, so businesses and clients without holds leave no entry behind
+    private static Set<SlotHold> removeFrom(Set<SlotHold> holds, SlotHold hold) {
+        holds.remove(hold);
+        return holds.isEmpty() ? null : holds;
+    }
+
+    private static long countActive(Set<SlotHold> holds, LocalDateTime now) {
+        return holds.stream().filter(hold -> !hold.isExpired(now)).count();
+    }
+}
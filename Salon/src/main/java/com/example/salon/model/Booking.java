@@ -27,6 +27,11 @@ public class Booking {
     @JoinColumn(name = "service_id", nullable = false)
     private Service service;
 
+    // The staff member (chair) the booking occupies
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "staff_id", nullable = false)
+    private Staff staff;
+
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
 
@@ -61,6 +66,12 @@ public class Booking {
         updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Only CONFIRMED bookings occupy their staff member. COMPLETED frees the time like
+     * CANCELLED: the appointment is over, so one finished early leaves the rest of its slot
+     * bookable. The overlap checks and the exclusion constraint count CONFIRMED rows only.
+     * Before the staff calendars, every booking that was not CANCELLED blocked its time.
+     */
     public enum BookingStatus {
         CONFIRMED, CANCELLED, COMPLETED
     }
@@ -1,16 +1,22 @@
 package com.example.salon.model;
 
+import com.example.salon.config.CachedEntityWriteListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "salon-business")
 @Table(name = "businesses")
+@EntityListeners(CachedEntityWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +48,10 @@ public class Business {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Last change to the business hours or closed dates
+    @Column(name = "schedule_updated_at")
+    private LocalDateTime scheduleUpdatedAt;
+
     @OneToMany(mappedBy = "business", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Service> services = new ArrayList<>();
@@ -50,6 +60,11 @@ public class Business {
     @Builder.Default
     private List<Booking> bookings = new ArrayList<>();
 
+    // After bookings, so a cascaded delete removes the bookings before the staff they reference
+    @OneToMany(mappedBy = "business", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private List<Staff> staff = new ArrayList<>();
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -1,16 +1,22 @@
 package com.example.salon.model;
 
+import com.example.salon.config.CachedEntityWriteListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "salon-businessHours")
 @Table(name = "business_hours")
+@EntityListeners(CachedEntityWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
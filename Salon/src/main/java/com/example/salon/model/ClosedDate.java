@@ -1,15 +1,21 @@
 package com.example.salon.model;
 
+import com.example.salon.config.CachedEntityWriteListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "salon-closedDate")
 @Table(name = "closed_dates")
+@EntityListeners(CachedEntityWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,17 +1,23 @@
 package com.example.salon.model;
 
+import com.example.salon.config.CachedEntityWriteListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "salon-service")
 @Table(name = "services")
+@EntityListeners(CachedEntityWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,64 @@
+package com.example.salon.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A stylist or chair. Each booking occupies one staff member, so a business can take as
+ * many overlapping bookings as it has active staff.
+ */
+@Entity
+@Table(name = "staff")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Staff {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "business_id", nullable = false)
+    private Business business;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    // Services this staff member performs; empty means every service of the business
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "staff_services",
+            joinColumns = @JoinColumn(name = "staff_id"),
+            inverseJoinColumns = @JoinColumn(name = "service_id"))
+    @Builder.Default
+    private Set<Service> services = new HashSet<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.salon.repository;
 
+import com.example.salon.calendar.BookingInterval;
+import com.example.salon.dto.BookingRow;
 import com.example.salon.model.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -10,35 +12,89 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    @Query("SELECT b FROM Booking b WHERE b.business.id = :businessId " +
+    // Prefix of the advisory lock key, reserved for booking writes
+    String BOOKING_LOCK_NAMESPACE = "booking:";
+
+    /**
+     * Staff members of the business with a confirmed booking overlapping the range
+     */
+    @Query("SELECT DISTINCT b.staff.id FROM Booking b WHERE b.business.id = :businessId " +
             "AND b.status = 'CONFIRMED' " +
             "AND ((b.startTime < :endTime AND b.endTime > :startTime))")
-    List<Booking> findOverlappingBookings(
+    List<Long> findBusyStaffIds(
             @Param("businessId") Long businessId,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
 
-    List<Booking> findByBusinessIdAndStartTimeBetween(
-            Long businessId,
-            LocalDateTime startTime,
-            LocalDateTime endTime
-    );
+    /**
+     * Serializes booking writes for one business until the current transaction ends.
+     * Transaction-scoped Postgres advisory lock, so other businesses never contend. The key is a
+     * 64-bit hash of the namespace and the full bigint id; a collision only makes two businesses
+     * share a lock, it never lets writes for one business interleave.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended('" + BOOKING_LOCK_NAMESPACE
+            + "' || CAST(:businessId AS text), 0))",
+            nativeQuery = true)
+    Integer lockBusinessForBooking(@Param("businessId") Long businessId);
 
-    List<Booking> findByCustomerPhone(String phone);
+    /**
+     * True if another confirmed booking of the staff member overlaps the range
+     */
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.staff.id = :staffId " +
+            "AND b.id <> :bookingId " +
+            "AND b.status = 'CONFIRMED' " +
+            "AND b.startTime < :endTime AND b.endTime > :startTime")
+    boolean existsOtherOverlappingBooking(
+            @Param("staffId") Long staffId,
+            @Param("bookingId") Long bookingId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
 
     // ============================================
-    // NY METODE: Find all bookings for a business
+    // PROJECTIONS: booking + service + staff in one join, no entity hydration
     // ============================================
-    List<Booking> findByBusinessId(Long businessId);
-}
+    String BOOKING_ROW_SELECT = "SELECT new com.example.salon.dto.BookingRow(" +
+            "b.id, b.startTime, b.endTime, b.customerName, b.customerPhone, b.status, b.createdAt, " +
+            "s.id, s.name, s.durationMinutes, s.price, s.active, st.id, st.name) " +
+            "FROM Booking b JOIN b.service s JOIN b.staff st ";
+
+    @Query(BOOKING_ROW_SELECT +
+            "WHERE b.business.id = :businessId AND b.startTime BETWEEN :startTime AND :endTime " +
+            "ORDER BY b.startTime, b.id")
+    List<BookingRow> findRowsByBusinessIdAndStartTimeBetween(
+            @Param("businessId") Long businessId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
 
-/*
-NY METODE:
-==========
-✅ findByBusinessId(Long businessId)
-   - Returnerer ALLE bookings for et business
-   - Bruges af BusinessOwnerService til at vise alle bookings
-*/
\ No newline at end of file
+    @Query(BOOKING_ROW_SELECT + "WHERE b.customerPhone = :phone ORDER BY b.startTime, b.id")
+    List<BookingRow> findRowsByCustomerPhone(@Param("phone") String phone);
+
+    /**
+     * Confirmed bookings that end after the given time, ordered for loading the calendar engine
+     */
+    @Query("SELECT new com.example.salon.calendar.BookingInterval(b.id, b.staff.id, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.status = 'CONFIRMED' AND b.endTime > :from " +
+            "ORDER BY b.staff.id, b.startTime")
+    List<BookingInterval> findConfirmedIntervalsEndingAfter(@Param("from") LocalDateTime from);
+
+    /**
+     * Confirmed bookings ending after the given time that changed since the calendar snapshot
+     */
+    @Query("SELECT new com.example.salon.calendar.BookingInterval(b.id, b.staff.id, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.status = 'CONFIRMED' AND b.endTime > :from AND b.updatedAt > :since")
+    List<BookingInterval> findConfirmedIntervalsUpdatedAfter(@Param("from") LocalDateTime from,
+                                                             @Param("since") LocalDateTime since);
+
+    /**
+     * Bookings ending after the given time that were completed or cancelled since the calendar snapshot
+     */
+    @Query("SELECT new com.example.salon.calendar.BookingInterval(b.id, b.staff.id, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.status <> 'CONFIRMED' AND b.endTime > :from AND b.updatedAt > :since")
+    List<BookingInterval> findReleasedIntervalsUpdatedAfter(@Param("from") LocalDateTime from,
+                                                            @Param("since") LocalDateTime since);
+}
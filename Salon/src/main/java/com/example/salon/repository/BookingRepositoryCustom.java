@@ -0,0 +1,31 @@
+package com.example.salon.repository;
+
+import com.example.salon.dto.BookingRow;
+import com.example.salon.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * One page of a business's booking history, newest first, using keyset pagination on
+     * (start_time, id). Pass null for any filter or for the cursor to leave it out; the
+     * page only reads rows after the cursor, so deep pages cost the same as the first.
+     */
+    List<BookingRow> findHistoryPage(
+            Long businessId,
+            Booking.BookingStatus status,
+            LocalDateTime from,
+            LocalDateTime to,
+            LocalDateTime cursorStartTime,
+            Long cursorId,
+            int limit
+    );
+
+    /**
+     * Re-reads the booking and locks its row until the transaction ends, replacing any state
+     * loaded earlier in the transaction. Writers that hold the row lock never overwrite each other.
+     */
+    void refreshForUpdate(Booking booking);
+}
@@ -0,0 +1,71 @@
+package com.example.salon.repository;
+
+import com.example.salon.dto.BookingRow;
+import com.example.salon.model.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingRow> findHistoryPage(Long businessId,
+                                            Booking.BookingStatus status,
+                                            LocalDateTime from,
+                                            LocalDateTime to,
+                                            LocalDateTime cursorStartTime,
+                                            Long cursorId,
+                                            int limit) {
+        // Only the filters actually in use go into the query, so each shape gets its own plan
+        StringBuilder jpql = new StringBuilder(BookingRepository.BOOKING_ROW_SELECT)
+                .append("WHERE b.business.id = :businessId ");
+        if (status != null) {
+            jpql.append("AND b.status = :status ");
+        }
+        if (from != null) {
+            jpql.append("AND b.startTime >= :from ");
+        }
+        if (to != null) {
+            jpql.append("AND b.startTime < :to ");
+        }
+        if (cursorStartTime != null && cursorId != null) {
+            // The first conjunct is redundant but bounds the (business_id, start_time, id) index scan;
+            // the OR alone would leave the planner filtering every row of the business
+            jpql.append("AND b.startTime <= :cursorStartTime ")
+                    .append("AND (b.startTime < :cursorStartTime ")
+                    .append("OR (b.startTime = :cursorStartTime AND b.id < :cursorId)) ");
+        }
+        jpql.append("ORDER BY b.startTime DESC, b.id DESC");
+
+        TypedQuery<BookingRow> query = entityManager.createQuery(jpql.toString(), BookingRow.class)
+                .setParameter("businessId", businessId)
+                .setMaxResults(limit);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (cursorStartTime != null && cursorId != null) {
+            query.setParameter("cursorStartTime", cursorStartTime);
+            query.setParameter("cursorId", cursorId);
+        }
+
+        return query.getResultList();
+    }
+
+    @Override
+    public void refreshForUpdate(Booking booking) {
+        entityManager.refresh(booking, LockModeType.PESSIMISTIC_WRITE);
+    }
+}
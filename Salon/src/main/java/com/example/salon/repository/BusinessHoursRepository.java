@@ -1,7 +1,10 @@
 package com.example.salon.repository;
 
 import com.example.salon.model.BusinessHours;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
@@ -11,8 +14,16 @@ import java.util.Optional;
 @Repository
 public interface BusinessHoursRepository extends JpaRepository<BusinessHours, Long> {
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "salon-query-businessHours")
+    })
     List<BusinessHours> findByBusinessIdOrderByDayOfWeek(Long businessId);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "salon-query-businessHours")
+    })
     Optional<BusinessHours> findByBusinessIdAndDayOfWeek(Long businessId, DayOfWeek dayOfWeek);
     
     void deleteByBusinessId(Long businessId);
@@ -2,11 +2,19 @@ package com.example.salon.repository;
 
 import com.example.salon.model.Business;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BusinessRepository extends JpaRepository<Business, Long> {
     Optional<Business> findBySlug(String slug);
     boolean existsBySlug(String slug);
+
+    @Query("SELECT b.id FROM Business b WHERE b.scheduleUpdatedAt > :since")
+    List<Long> findIdsWithScheduleUpdatedAfter(@Param("since") LocalDateTime since);
 }
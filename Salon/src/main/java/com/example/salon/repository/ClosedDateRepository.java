@@ -1,7 +1,10 @@
 package com.example.salon.repository;
 
 import com.example.salon.model.ClosedDate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -11,9 +14,19 @@ import java.util.Optional;
 @Repository
 public interface ClosedDateRepository extends JpaRepository<ClosedDate, Long> {
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "salon-query-closedDate")
+    })
     List<ClosedDate> findByBusinessIdOrderByClosedDate(Long businessId);
     
     Optional<ClosedDate> findByBusinessIdAndClosedDate(Long businessId, LocalDate date);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "salon-query-closedDate")
+    })
     List<ClosedDate> findByBusinessIdAndClosedDateGreaterThanEqual(Long businessId, LocalDate fromDate);
+
+    List<ClosedDate> findByBusinessIdAndClosedDateBetween(Long businessId, LocalDate fromDate, LocalDate toDate);
 }
@@ -0,0 +1,29 @@
+package com.example.salon.repository;
+
+import com.example.salon.model.Staff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StaffRepository extends JpaRepository<Staff, Long> {
+
+    List<Staff> findByBusinessIdAndActiveTrueOrderById(Long businessId);
+
+    Optional<Staff> findByIdAndBusinessId(Long id, Long businessId);
+
+    long countByBusinessIdAndActiveTrue(Long businessId);
+
+    /**
+     * Active staff of the business who perform the service (staff without a service list perform all)
+     */
+    @Query("SELECT st.id FROM Staff st WHERE st.business.id = :businessId AND st.active = true " +
+            "AND (st.services IS EMPTY OR EXISTS (" +
+            "SELECT 1 FROM Staff q JOIN q.services s WHERE q = st AND s.id = :serviceId)) " +
+            "ORDER BY st.id")
+    List<Long> findQualifiedStaffIds(@Param("businessId") Long businessId, @Param("serviceId") Long serviceId);
+}
@@ -0,0 +1,37 @@
+package com.example.salon.security;
+
+import com.example.salon.exception.ResourceNotFoundException;
+import com.example.salon.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+
+/**
+ * Principal for JWT-authenticated requests, built once per request from the token claims.
+ * Carries the ids owner endpoints need so they don't have to re-load User and Business.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+
+    private final Long userId;
+    private final String username;
+    private final User.Role role;
+    private final Long businessId;  // null for users without a business (e.g. SYSTEM_ADMIN)
+
+    /**
+     * The caller's business id, for endpoints that only make sense for business users
+     */
+    public Long requireBusinessId() {
+        if (businessId == null) {
+            throw new ResourceNotFoundException("User is not associated with any business");
+        }
+        return businessId;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.salon.security;
 
+import com.example.salon.model.User;
+import com.example.salon.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,15 +10,15 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -23,7 +26,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final UserStatusCache userStatusCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,21 +36,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.verify(jwt).orElse(null) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims != null) {
+                UsernamePasswordAuthenticationToken authentication = claims.get(JwtTokenProvider.CLAIM_ROLE) != null
+                        ? authenticationFromClaims(claims)
+                        : authenticationFromUserLookup(claims.getSubject());
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (authentication != null) {
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -55,6 +55,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the authentication from verified claims; only the (cached) active flag is checked
+     */
+    private UsernamePasswordAuthenticationToken authenticationFromClaims(Claims claims) {
+        Long userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, Long.class);
+        if (userId == null || !userStatusCache.isActive(userId)) {
+            log.warn("Rejected token for inactive or unknown user: {}", claims.getSubject());
+            return null;
+        }
+
+        AuthenticatedUser principal = new AuthenticatedUser(
+                userId,
+                claims.getSubject(),
+                User.Role.valueOf(claims.get(JwtTokenProvider.CLAIM_ROLE, String.class)),
+                claims.get(JwtTokenProvider.CLAIM_BUSINESS_ID, Long.class)
+        );
+        return authenticated(principal);
+    }
+
+    /**
+     * Tokens issued before role claims were added still go through the user lookup
+     */
+    private UsernamePasswordAuthenticationToken authenticationFromUserLookup(String username) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null || !user.getActive()) {
+            log.warn("Rejected token for inactive or unknown user: {}", username);
+            return null;
+        }
+
+        AuthenticatedUser principal = new AuthenticatedUser(
+                user.getId(),
+                user.getUsername(),
+                user.getRole(),
+                user.getBusiness() != null ? user.getBusiness().getId() : null
+        );
+        return authenticated(principal);
+    }
+
+    private UsernamePasswordAuthenticationToken authenticated(AuthenticatedUser principal) {
+        return new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + principal.getRole().name()))
+        );
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
 
@@ -1,74 +1,144 @@
 package com.example.salon.security;
 
+import com.example.salon.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_BUSINESS_ID = "bid";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    @Value("${app.security.token-cache.max-entries:10000}")
+    private int tokenCacheMaxEntries;
+
+    @Value("${app.security.token-cache.ttl-seconds:30}")
+    private long tokenCacheTtlSeconds;
 
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+    // Derived once; both the key and the parser are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Recently verified tokens -> claims, access-ordered for LRU eviction, guarded by itself
+    private Map<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > tokenCacheMaxEntries;
+            }
+        };
+    }
 
+    /**
+     * Issues a token carrying the claims needed to authenticate later requests
+     * without loading the user from the database.
+     */
+    public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
-                .setSubject(userDetails.getUsername())
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setExpiration(expiryDate);
+
+        if (user.getBusiness() != null) {
+            builder.claim(CLAIM_BUSINESS_ID, user.getBusiness().getId());
+        }
+
+        return builder
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token once and returns its claims, or empty if the token is invalid
+     * or expired. A token verified in the last few seconds is answered from a small
+     * bounded cache instead of re-checking the HS512 signature and re-parsing the JSON.
+     */
+    public Optional<Claims> verify(String token) {
+        long now = System.currentTimeMillis();
 
-        return claims.getSubject();
-    }
+        if (tokenCacheMaxEntries > 0) {
+            VerifiedToken cached;
+            synchronized (verifiedTokens) {
+                cached = verifiedTokens.get(token);
+            }
+            if (cached != null && now < cached.validUntil) {
+                return Optional.of(cached.claims);
+            }
+        }
 
-    public boolean validateToken(String token) {
+        Claims claims;
         try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException ex) {
-            log.error("Invalid JWT signature");
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException ex) {
             log.error("Expired JWT token");
+            return Optional.empty();
+        } catch (MalformedJwtException ex) {
+            log.error("Invalid JWT token");
+            return Optional.empty();
         } catch (UnsupportedJwtException ex) {
             log.error("Unsupported JWT token");
+            return Optional.empty();
+        } catch (JwtException ex) {
+            log.error("Invalid JWT signature");
+            return Optional.empty();
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
+            return Optional.empty();
+        }
+
+        if (tokenCacheMaxEntries > 0) {
+            // Never trust a cached entry past the token's own expiry
+            long validUntil = now + tokenCacheTtlSeconds * 1000;
+            if (claims.getExpiration() != null) {
+                validUntil = Math.min(validUntil, claims.getExpiration().getTime());
+            }
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(token, new VerifiedToken(claims, validUntil));
+            }
+        }
+
+        return Optional.of(claims);
+    }
+
+    private static final class VerifiedToken {
+        private final Claims claims;
+        private final long validUntil;
+
+        private VerifiedToken(Claims claims, long validUntil) {
+            this.claims = claims;
+            this.validUntil = validUntil;
         }
-        return false;
     }
-}
\ No newline at end of file
+}
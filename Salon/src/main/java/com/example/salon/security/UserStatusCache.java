@@ -0,0 +1,71 @@
+package com.example.salon.security;
+
+import com.example.salon.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Short-lived cache of "is this user still active" answers for token authentication.
+ * A deactivated user is locked out at most one TTL after the change, without a
+ * database round trip on every request.
+ * <p>
+ * Entries are never evicted explicitly: the application has no path that changes a
+ * user's active flag (it is only changed in the database), and the role comes from the
+ * signed token, not from this cache. The TTL is therefore the only bound on staleness;
+ * lower app.security.user-status-ttl-seconds if that window is too long.
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    // Access-ordered map for LRU eviction, guarded by "this"
+    private final LinkedHashMap<Long, Entry> entries;
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${app.security.user-status-ttl-seconds:60}") long ttlSeconds,
+                           @Value("${app.security.user-status-max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > UserStatusCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isActive(Long userId) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            Entry entry = entries.get(userId);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                return entry.active;
+            }
+        }
+
+        // Unknown users count as inactive
+        boolean active = userRepository.findActiveById(userId).orElse(false);
+        synchronized (this) {
+            entries.put(userId, new Entry(active, now));
+        }
+        return active;
+    }
+
+    private static final class Entry {
+        private final boolean active;
+        private final long loadedAt;
+
+        private Entry(boolean active, long loadedAt) {
+            this.active = active;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -71,13 +71,13 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Generate JWT token
-        String token = tokenProvider.generateToken(authentication);
-
         // Get user details
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        // Generate JWT token (role, userId and businessId travel as claims)
+        String token = tokenProvider.generateToken(user);
+
         log.info("User logged in: {}", user.getUsername());
 
         return AuthResponse.builder()
@@ -0,0 +1,65 @@
+package com.example.salon.service;
+
+import com.example.salon.exception.ServiceBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Small fixed pool for availability computations that miss the cache.
+ *
+ * The pool size is the most database connections availability reads can ever hold at once,
+ * regardless of how many viewers are waiting. The queue is bounded; once it is full new
+ * requests fail fast with 503 instead of piling up.
+ */
+@Component
+@Slf4j
+public class AvailabilityExecutor {
+
+    private final int threads;
+    private final int queueCapacity;
+
+    private ThreadPoolExecutor pool;
+
+    public AvailabilityExecutor(@Value("${app.availability.executor-threads:8}") int threads,
+                                @Value("${app.availability.executor-queue:1000}") int queueCapacity) {
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "availability-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, pool);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Availability queue full ({} waiting)", pool.getQueue().size());
+            throw new ServiceBusyException("Too many availability requests, please retry");
+        }
+    }
+}
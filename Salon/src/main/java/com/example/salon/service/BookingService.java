@@ -1,30 +1,51 @@
 package com.example.salon.service;
 
+import com.example.salon.cache.AvailabilityCache;
+import com.example.salon.cache.AvailabilityChangedEvent;
+import com.example.salon.cache.AvailabilityCoalescer;
+import com.example.salon.cache.BusinessDirectory;
+import com.example.salon.cache.BusinessSnapshot;
+import com.example.salon.cache.WeeklySchedule;
+import com.example.salon.calendar.BookingChangedEvent;
+import com.example.salon.calendar.CalendarEngine;
+import com.example.salon.config.ReadReplicaContext;
+import com.example.salon.config.ReplicaLagGuard;
 import com.example.salon.dto.AvailableTimeSlot;
 import com.example.salon.dto.AvailableTimesResponse;
 import com.example.salon.dto.BookingRequest;
 import com.example.salon.dto.BookingResponse;
+import com.example.salon.dto.BookingRow;
 import com.example.salon.dto.ServiceResponse;
+import com.example.salon.dto.SlotHoldRequest;
+import com.example.salon.dto.SlotHoldResponse;
 import com.example.salon.exception.BookingConflictException;
 import com.example.salon.exception.BusinessNotActiveException;
+import com.example.salon.exception.InvalidRequestException;
 import com.example.salon.exception.ResourceNotFoundException;
+import com.example.salon.hold.SlotHold;
+import com.example.salon.hold.SlotHoldStore;
 import com.example.salon.model.Booking;
-import com.example.salon.model.Business;
 import com.example.salon.model.Service;
 import com.example.salon.repository.BookingRepository;
 import com.example.salon.repository.BusinessRepository;
 import com.example.salon.repository.ServiceRepository;
+import com.example.salon.repository.StaffRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Component
@@ -32,18 +53,52 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookingService {
 
+    // Upper bound for range queries (a month view plus surrounding days)
+    private static final int MAX_RANGE_DAYS = 42;
+
+    // Limits for the "next available slot" search
+    private static final int MAX_NEXT_AVAILABLE_SLOTS = 20;
+    private static final int MAX_SEARCH_DAYS = 90;
+
+    // Free slots suggested on each side of a requested time that is taken
+    private static final int CONFLICT_ALTERNATIVES = 3;
+
     private final BookingRepository bookingRepository;
     private final BusinessRepository businessRepository;
+    private final BusinessDirectory businessDirectory;
     private final ServiceRepository serviceRepository;
+    private final StaffRepository staffRepository;
     private final BusinessHoursService businessHoursService;
-
+    private final AvailabilityCache availabilityCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotHoldStore slotHoldStore;
+    private final IdempotencyService idempotencyService;
+    private final AvailabilityExecutor availabilityExecutor;
+    private final AvailabilityCoalescer availabilityCoalescer;
+    private final PlatformTransactionManager transactionManager;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final CalendarEngine calendarEngine;
+
+    /**
+     * Creates a booking. When an idempotency key is given, a replay of an earlier
+     * submission returns the original response without touching the bookings table.
+     * A hold token is only honored for the client that placed the hold.
+     */
     @Transactional
-    public BookingResponse createBooking(String businessSlug, BookingRequest request) {
+    public BookingResponse createBooking(String businessSlug, BookingRequest request, String idempotencyKey,
+                                         String clientKey) {
         // Find and validate business
-        Business business = businessRepository.findBySlug(businessSlug)
-                .orElseThrow(() -> new ResourceNotFoundException("Business not found: " + businessSlug));
+        BusinessSnapshot business = businessDirectory.getBySlug(businessSlug);
+
+        if (idempotencyKey != null) {
+            Optional<BookingResponse> replay = idempotencyService.findBookingResponse(business.getId(), idempotencyKey, request);
+            if (replay.isPresent()) {
+                log.info("Replaying booking {} for idempotency key on business: {}", replay.get().getId(), businessSlug);
+                return replay.get();
+            }
+        }
 
-        if (!business.getActive()) {
+        if (!business.isActive()) {
             throw new BusinessNotActiveException("Business is not accepting bookings");
         }
 
@@ -64,23 +119,63 @@ public class BookingService {
             throw new BookingConflictException("Cannot book in the past");
         }
 
-        // Check for overlapping bookings
-        List<Booking> overlapping = bookingRepository.findOverlappingBookings(
-                business.getId(),
-                startTime,
-                endTime
-        );
+        List<Long> candidates = candidateStaff(business.getId(), service.getId(), request.getStaffId());
+
+        // Fast reject without the lock: the resident calendar is only a hint, since it can miss a
+        // release (e.g. a cancel on another instance), so a slot it shows as taken is confirmed
+        // against the database first. Slots it shows as free go straight to the locked check below.
+        if (isTaken(business.getId(), candidates, startTime, endTime)) {
+            // The conflicting booking may be a concurrent duplicate of this request
+            if (idempotencyKey != null) {
+                Optional<BookingResponse> replay = idempotencyService.findBookingResponse(business.getId(), idempotencyKey, request);
+                if (replay.isPresent()) {
+                    return replay.get();
+                }
+            }
+            throw slotTaken(business.getId(), service, candidates, startTime);
+        }
 
-        if (!overlapping.isEmpty()) {
-            throw new BookingConflictException(
-                    "Time slot is not available. Booking conflicts with existing appointment."
-            );
+        // Serialize concurrent bookings for this business so the overlap check and the
+        // insert below cannot interleave with another request for the same slot
+        bookingRepository.lockBusinessForBooking(business.getId());
+
+        // A concurrent duplicate may have committed while we waited for the lock
+        if (idempotencyKey != null) {
+            Optional<BookingResponse> replay = idempotencyService.findBookingResponse(business.getId(), idempotencyKey, request);
+            if (replay.isPresent()) {
+                return replay.get();
+            }
         }
 
+        // A presented hold must match this slot and pins the booking to the held staff member
+        String holdToken = request.getHoldToken();
+        List<Long> assignable = candidates;
+        if (holdToken != null) {
+            SlotHold hold = slotHoldStore.find(holdToken)
+                    .filter(h -> h.getBusinessId().equals(business.getId())
+                            && h.getClientKey().equals(clientKey)
+                            && h.getStartTime().equals(startTime)
+                            && h.getEndTime().equals(endTime)
+                            && candidates.contains(h.getStaffId()))
+                    .orElseThrow(() -> new BookingConflictException("Slot hold has expired or does not match this booking"));
+            assignable = List.of(hold.getStaffId());
+        }
+
+        // Check for overlapping bookings, then skip staff held by other customers
+        List<Long> free = freeStaff(business.getId(), assignable, startTime, endTime);
+        if (free.isEmpty()) {
+            throw slotTaken(business.getId(), service, candidates, startTime);
+        }
+        Long staffId = free.stream()
+                .filter(id -> !slotHoldStore.isHeld(business.getId(), id, startTime, endTime, holdToken))
+                .findFirst()
+                .orElseThrow(() -> slotHeld(business.getId(), service, candidates, startTime));
+
         // Create booking
         Booking booking = Booking.builder()
-                .business(business)
+                .business(businessRepository.getReferenceById(business.getId()))
                 .service(service)
+                .staff(staffRepository.getReferenceById(staffId))
                 .startTime(startTime)
                 .endTime(endTime)
                 .customerName(request.getCustomerName())
@@ -89,58 +184,237 @@ public class BookingService {
                 .build();
 
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.occupied(booking.getId(), business.getId(), staffId, startTime, endTime));
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(business.getId(), startTime.toLocalDate()));
+
+        if (holdToken != null) {
+            slotHoldStore.release(holdToken);
+        }
 
         log.info("Booking created: {} for business: {}", booking.getId(), businessSlug);
 
-        return mapToBookingResponse(booking);
+        BookingResponse response = mapToBookingResponse(booking);
+        if (idempotencyKey != null) {
+            idempotencyService.saveBookingResponse(business.getId(), idempotencyKey, request, response);
+        }
+
+        return response;
+    }
+
+    /**
+     * Reserves a slot for a few minutes while the customer fills in their details
+     */
+    @Transactional
+    public SlotHoldResponse holdSlot(String businessSlug, SlotHoldRequest request, String clientKey) {
+        // Find and validate business
+        BusinessSnapshot business = businessDirectory.getBySlug(businessSlug);
+
+        if (!business.isActive()) {
+            throw new BusinessNotActiveException("Business is not accepting bookings");
+        }
+
+        // Find and validate service
+        Service service = serviceRepository.findByIdAndBusinessId(request.getServiceId(), business.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
+
+        if (!service.getActive()) {
+            throw new ResourceNotFoundException("Service is not available");
+        }
+
+        LocalDateTime startTime = request.getStartTime();
+        LocalDateTime endTime = startTime.plusMinutes(service.getDurationMinutes());
+
+        if (startTime.isBefore(LocalDateTime.now())) {
+            throw new BookingConflictException("Cannot book in the past");
+        }
+
+        List<Long> candidates = candidateStaff(business.getId(), service.getId(), request.getStaffId());
+
+        // Same unlocked fast reject as createBooking
+        if (isTaken(business.getId(), candidates, startTime, endTime)) {
+            throw slotTaken(business.getId(), service, candidates, startTime);
+        }
+
+        // Same lock as createBooking, so a hold is never placed on a slot being booked
+        bookingRepository.lockBusinessForBooking(business.getId());
+
+        // Hold the first free staff member not already held by another customer
+        List<Long> free = freeStaff(business.getId(), candidates, startTime, endTime);
+        if (free.isEmpty()) {
+            throw slotTaken(business.getId(), service, candidates, startTime);
+        }
+        SlotHold hold = free.stream()
+                .map(staffId -> slotHoldStore.place(business.getId(), staffId, service.getId(), startTime, endTime, clientKey))
+                .flatMap(Optional::stream)
+                .findFirst()
+                .orElseThrow(() -> slotHeld(business.getId(), service, candidates, startTime));
+
+        log.info("Slot held for business: {} at {}", businessSlug, startTime);
+
+        return SlotHoldResponse.builder()
+                .token(hold.getToken())
+                .serviceId(hold.getServiceId())
+                .staffId(hold.getStaffId())
+                .startTime(hold.getStartTime())
+                .endTime(hold.getEndTime())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public void releaseHold(String businessSlug, String token, String clientKey) {
+        BusinessSnapshot business = businessDirectory.getBySlug(businessSlug);
+
+        SlotHold hold = slotHoldStore.find(token)
+                .filter(h -> h.getBusinessId().equals(business.getId()) && h.getClientKey().equals(clientKey))
+                .orElseThrow(() -> new ResourceNotFoundException("Slot hold not found"));
+
+        slotHoldStore.release(hold.getToken());
     }
 
     @Transactional(readOnly = true)
     public List<BookingResponse> getBookingsByDate(String businessSlug, LocalDateTime date) {
-        Business business = businessRepository.findBySlug(businessSlug)
-                .orElseThrow(() -> new ResourceNotFoundException("Business not found: " + businessSlug));
+        BusinessSnapshot business = businessDirectory.getBySlug(businessSlug);
 
         LocalDateTime startOfDay = date.toLocalDate().atStartOfDay();
         LocalDateTime endOfDay = startOfDay.plusDays(1);
 
         return bookingRepository
-                .findByBusinessIdAndStartTimeBetween(business.getId(), startOfDay, endOfDay)
+                .findRowsByBusinessIdAndStartTimeBetween(business.getId(), startOfDay, endOfDay)
                 .stream()
-                .map(this::mapToBookingResponse)
+                .map(BookingRow::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<BookingResponse> getCustomerBookings(String phone) {
-        return bookingRepository.findByCustomerPhone(phone)
+        return bookingRepository.findRowsByCustomerPhone(phone)
                 .stream()
-                .map(this::mapToBookingResponse)
+                .map(BookingRow::toResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Moves a confirmed booking to a new start time with the same staff member, in one
+     * transaction under the business booking lock. The booking itself is ignored when the
+     * new time is checked, so it never gives up its old slot before the new one is secured.
+     * The status is checked again once the booking row is locked, so a cancel that commits
+     * in the meantime is never overwritten.
+     */
     @Transactional
-    public void cancelBooking(Long bookingId) {
+    public BookingResponse rescheduleBooking(Long bookingId, LocalDateTime startTime) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
 
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-        bookingRepository.save(booking);
+        requireConfirmed(booking);
+
+        Long businessId = booking.getBusiness().getId();
+        Long staffId = booking.getStaff().getId();
+        Service service = booking.getService();
+        LocalDateTime endTime = startTime.plusMinutes(service.getDurationMinutes());
+
+        if (startTime.isBefore(LocalDateTime.now())) {
+            throw new BookingConflictException("Cannot book in the past");
+        }
+
+        // Fast reject as in createBooking: a calendar hit is confirmed against the database
+        if (calendarEngine.conflictsExcept(staffId, startTime, endTime, bookingId)
+                && bookingRepository.existsOtherOverlappingBooking(staffId, bookingId, startTime, endTime)) {
+            throw slotTaken(businessId, service, List.of(staffId), startTime);
+        }
+
+        // Same lock as createBooking, so a booking or hold cannot take the new slot meanwhile
+        bookingRepository.lockBusinessForBooking(businessId);
+        // The first read may be stale by now; the owner's cancel and complete take the same row lock
+        bookingRepository.refreshForUpdate(booking);
+        requireConfirmed(booking);
+
+        if (bookingRepository.existsOtherOverlappingBooking(staffId, bookingId, startTime, endTime)) {
+            throw slotTaken(businessId, service, List.of(staffId), startTime);
+        }
+        if (slotHoldStore.isHeld(businessId, staffId, startTime, endTime, null)) {
+            throw slotHeld(businessId, service, List.of(staffId), startTime);
+        }
+
+        LocalDate previousDate = booking.getStartTime().toLocalDate();
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        booking = bookingRepository.save(booking);
+
+        // Occupying replaces the booking's old range in the calendar
+        eventPublisher.publishEvent(BookingChangedEvent.occupied(booking.getId(), businessId, staffId, startTime, endTime));
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(businessId, previousDate));
+        if (!previousDate.equals(startTime.toLocalDate())) {
+            eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(businessId, startTime.toLocalDate()));
+        }
+
+        log.info("Booking {} rescheduled to {}", bookingId, startTime);
+
+        return mapToBookingResponse(booking);
+    }
 
-        log.info("Booking cancelled: {}", bookingId);
+    private static void requireConfirmed(Booking booking) {
+        if (booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
+            throw new InvalidRequestException("Only confirmed bookings can be rescheduled");
+        }
     }
 
-    @Transactional(readOnly = true)
-    public AvailableTimesResponse getAvailableTimeSlots(String businessSlug, LocalDate date, Long serviceId) {
-        // Find and validate business
-        Business business = businessRepository.findBySlug(businessSlug)
-                .orElseThrow(() -> new ResourceNotFoundException("Business not found: " + businessSlug));
+    /**
+     * Available slots for the public endpoint.
+     * Cache hits complete immediately on the calling thread without opening a transaction;
+     * misses are computed on the bounded {@link AvailabilityExecutor} so the request thread is
+     * released while waiting, and identical concurrent misses are coalesced into one computation.
+     */
+    public CompletableFuture<AvailableTimesResponse> getAvailableTimeSlotsAsync(String businessSlug, LocalDate date, Long serviceId) {
+        BusinessSnapshot business = requireActiveBusiness(businessSlug);
+
+        AvailableTimesResponse cached = availabilityCache.get(business.getId(), date, serviceId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(applyHolds(business.getId(), cached));
+        }
 
-        if (!business.getActive()) {
+        // The replica routing override is per thread, so carry it over to the worker
+        boolean primaryRequired = ReadReplicaContext.isPrimaryRequired();
+        long generation = availabilityCache.generation(business.getId());
+
+        // Identical concurrent misses share one computation
+        return availabilityCoalescer.execute(business.getId(), date, serviceId, generation, primaryRequired,
+                () -> availabilityExecutor.submit(
+                        () -> loadAvailableTimeSlots(business, date, serviceId, generation, primaryRequired)));
+    }
+
+    private BusinessSnapshot requireActiveBusiness(String businessSlug) {
+        BusinessSnapshot business = businessDirectory.getBySlug(businessSlug);
+
+        if (!business.isActive()) {
             throw new BusinessNotActiveException("Business is not accepting bookings");
         }
+        return business;
+    }
+
+    /**
+     * Computes and caches the slots. The generation must be read before the computation starts.
+     */
+    private AvailableTimesResponse loadAvailableTimeSlots(BusinessSnapshot business, LocalDate date, Long serviceId,
+                                                         long generation, boolean primaryRequired) {
+        // Right after a write the replica may lag, and the result is about to be cached
+        boolean usePrimary = primaryRequired || replicaLagGuard.isBusinessPinned(business.getId());
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        AvailableTimesResponse availableTimes = ReadReplicaContext.call(usePrimary,
+                () -> readOnly.execute(status -> computeAvailableTimeSlots(business, date, serviceId)));
+
+        availabilityCache.put(business.getId(), date, serviceId, generation, availableTimes);
+
+        return applyHolds(business.getId(), availableTimes);
+    }
+
+    private AvailableTimesResponse computeAvailableTimeSlots(BusinessSnapshot business, LocalDate date, Long serviceId) {
+        WeeklySchedule schedule = businessHoursService.getSchedule(business.getId());
 
         // Check if business is open on this date
-        if (!businessHoursService.isBusinessOpen(business.getId(), date)) {
+        if (!schedule.isOpen(date)) {
             // Return empty slots if closed
             return AvailableTimesResponse.builder()
                     .date(date)
@@ -156,63 +430,139 @@ public class BookingService {
             throw new ResourceNotFoundException("Service is not available");
         }
 
-        // Get all bookings for this day
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1);
+        // Get business hours for this day of week
+        WeeklySchedule.DayHours hours = schedule.hoursFor(date.getDayOfWeek());
+        List<Long> staffIds = staffRepository.findQualifiedStaffIds(business.getId(), service.getId());
 
-        List<Booking> existingBookings = bookingRepository
-                .findByBusinessIdAndStartTimeBetween(business.getId(), startOfDay, endOfDay);
+        return buildDaySlots(date, hours, service, staffIds, LocalDateTime.now());
+    }
 
-        // Get business hours for this day of week
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        com.example.salon.model.BusinessHours hours = businessHoursService.getHoursForDay(business.getId(), dayOfWeek);
-        
-        // Use business hours if available, otherwise default to 9:00-18:00
-        LocalTime startTime = (hours != null && hours.getOpenTime() != null) 
-                ? hours.getOpenTime() 
-                : LocalTime.of(9, 0);
-        LocalTime endTime = (hours != null && hours.getCloseTime() != null) 
-                ? hours.getCloseTime() 
-                : LocalTime.of(18, 0);
-        
-        LocalTime breakStart = (hours != null) ? hours.getBreakStartTime() : null;
-        LocalTime breakEnd = (hours != null) ? hours.getBreakEndTime() : null;
+    /**
+     * Available time slots for every day in [from, to] (inclusive).
+     * The business, its weekly schedule and its bookings come from memory; only the service
+     * is loaded, once for the whole range.
+     */
+    @Transactional(readOnly = true)
+    public List<AvailableTimesResponse> getAvailableTimeSlotsForRange(
+            String businessSlug, LocalDate from, LocalDate to, Long serviceId) {
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        // Find and validate business
+        BusinessSnapshot business = businessDirectory.getBySlug(businessSlug);
+
+        if (!business.isActive()) {
+            throw new BusinessNotActiveException("Business is not accepting bookings");
+        }
+
+        // Find and validate service
+        Service service = serviceRepository.findByIdAndBusinessId(serviceId, business.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
+
+        if (!service.getActive()) {
+            throw new ResourceNotFoundException("Service is not available");
+        }
 
-        // Generate time slots in 30 minute intervals
-        List<AvailableTimeSlot> timeSlots = new ArrayList<>();
-        int intervalMinutes = 30;
-        LocalTime currentTime = startTime;
+        WeeklySchedule schedule = businessHoursService.getSchedule(business.getId());
+        List<Long> staffIds = staffRepository.findQualifiedStaffIds(business.getId(), service.getId());
 
-        while (currentTime.isBefore(endTime)) {
-            LocalDateTime slotStart = LocalDateTime.of(date, currentTime);
-            LocalDateTime slotEnd = slotStart.plusMinutes(service.getDurationMinutes());
+        LocalDateTime now = LocalDateTime.now();
+        List<AvailableTimesResponse> days = new ArrayList<>();
 
-            // Skip if slot is during break time
-            boolean isDuringBreak = false;
-            if (breakStart != null && breakEnd != null) {
-                isDuringBreak = !currentTime.isBefore(breakStart) && currentTime.isBefore(breakEnd);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!schedule.isOpen(date)) {
+                days.add(AvailableTimesResponse.builder()
+                        .date(date)
+                        .timeSlots(List.of())
+                        .build());
+                continue;
             }
 
-            // Check if this slot conflicts with any existing booking
-            boolean isAvailable = !isDuringBreak && !hasConflict(slotStart, slotEnd, existingBookings);
+            days.add(applyHolds(business.getId(),
+                    buildDaySlots(date, schedule.hoursFor(date.getDayOfWeek()), service, staffIds, now)));
+        }
+
+        return days;
+    }
+
+    /**
+     * Earliest free slots for a service, scanning forward from today.
+     * Closed days are skipped using the in-memory schedule, and bookings come from
+     * the calendar engine, so the scan itself does not touch the database.
+     */
+    @Transactional(readOnly = true)
+    public List<AvailableTimeSlot> findNextAvailableSlots(String businessSlug, Long serviceId, int limit, int days) {
+        if (limit < 1 || limit > MAX_NEXT_AVAILABLE_SLOTS) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_NEXT_AVAILABLE_SLOTS);
+        }
+        if (days < 1 || days > MAX_SEARCH_DAYS) {
+            throw new InvalidRequestException("days must be between 1 and " + MAX_SEARCH_DAYS);
+        }
+
+        // Find and validate business
+        BusinessSnapshot business = businessDirectory.getBySlug(businessSlug);
+
+        if (!business.isActive()) {
+            throw new BusinessNotActiveException("Business is not accepting bookings");
+        }
+
+        // Find and validate service
+        Service service = serviceRepository.findByIdAndBusinessId(serviceId, business.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
+
+        if (!service.getActive()) {
+            throw new ResourceNotFoundException("Service is not available");
+        }
+
+        WeeklySchedule schedule = businessHoursService.getSchedule(business.getId());
+        List<AvailableTimeSlot> found = new ArrayList<>();
+
+        if (!schedule.hasOpenDays()) {
+            return found;
+        }
 
-            // Don't allow booking in the past
-            if (slotStart.isBefore(LocalDateTime.now())) {
-                isAvailable = false;
+        List<Long> staffIds = staffRepository.findQualifiedStaffIds(business.getId(), service.getId());
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDate lastDay = today.plusDays(days - 1L);
+
+        for (LocalDate date = today; !date.isAfter(lastDay); date = date.plusDays(1)) {
+            if (!schedule.isOpen(date)) {
+                continue;
             }
 
-            // Don't add slot if it would end after closing time
-            if (slotEnd.toLocalTime().isAfter(endTime)) {
-                break;
+            AvailableTimesResponse day = applyHolds(business.getId(), buildDaySlots(date,
+                    schedule.hoursFor(date.getDayOfWeek()), service, staffIds, now));
+
+            for (AvailableTimeSlot slot : day.getTimeSlots()) {
+                if (slot.isAvailable()) {
+                    found.add(slot);
+                    if (found.size() == limit) {
+                        return found;
+                    }
+                }
             }
+        }
 
-            timeSlots.add(AvailableTimeSlot.builder()
-                    .startTime(slotStart)
-                    .endTime(slotEnd)
-                    .available(isAvailable)
-                    .build());
+        return found;
+    }
 
-            currentTime = currentTime.plusMinutes(intervalMinutes);
+    /**
+     * Slots of the day for the service; a slot is available while at least one of the given
+     * staff members is free for all of it
+     */
+    private AvailableTimesResponse buildDaySlots(LocalDate date, WeeklySchedule.DayHours hours,
+                                                 Service service, List<Long> staffIds, LocalDateTime now) {
+        SlotGrid grid = slotGrid(date, hours, service, staffIds, now);
+
+        List<AvailableTimeSlot> timeSlots = new ArrayList<>(grid.size());
+        for (int i = 0; i < grid.size(); i++) {
+            timeSlots.add(grid.slot(i));
         }
 
         return AvailableTimesResponse.builder()
@@ -221,19 +571,152 @@ public class BookingService {
                 .build();
     }
 
-    private boolean hasConflict(LocalDateTime slotStart, LocalDateTime slotEnd, List<Booking> existingBookings) {
-        for (Booking booking : existingBookings) {
-            // Skip cancelled bookings
-            if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
-                continue;
-            }
+    private SlotGrid slotGrid(LocalDate date, WeeklySchedule.DayHours hours, Service service,
+                              List<Long> staffIds, LocalDateTime now) {
+        // Use business hours if available, otherwise default to 9:00-18:00
+        LocalTime startTime = (hours != null && hours.getOpenTime() != null)
+                ? hours.getOpenTime()
+                : LocalTime.of(9, 0);
+        LocalTime endTime = (hours != null && hours.getCloseTime() != null)
+                ? hours.getCloseTime()
+                : LocalTime.of(18, 0);
 
-            // Check if there's any overlap
-            if (slotStart.isBefore(booking.getEndTime()) && slotEnd.isAfter(booking.getStartTime())) {
-                return true;
-            }
+        LocalTime breakStart = (hours != null) ? hours.getBreakStartTime() : null;
+        LocalTime breakEnd = (hours != null) ? hours.getBreakEndTime() : null;
+
+        // One occupancy map per staff member, each answering a slot probe in constant time
+        List<DayOccupancy> occupancies = new ArrayList<>(staffIds.size());
+        for (Long staffId : staffIds) {
+            occupancies.add(calendarEngine.dayOccupancy(staffId, date, breakStart, breakEnd));
+        }
+
+        return new SlotGrid(date, DayOccupancy.minuteOfDay(startTime), DayOccupancy.minuteOfDay(endTime),
+                service.getDurationMinutes(), firstBookableMinute(date, now), staffIds, occupancies);
+    }
+
+    /**
+     * Up to {@value #CONFLICT_ALTERNATIVES} free slots on each side of the requested time on the
+     * same day, in time order. Searches the resident calendar and the active holds, without
+     * queries.
+     */
+    private List<AvailableTimeSlot> nearestAlternatives(Long businessId, Service service, List<Long> staffIds,
+                                                        LocalDateTime requested) {
+        LocalDate date = requested.toLocalDate();
+        WeeklySchedule schedule = businessHoursService.getSchedule(businessId);
+        if (!schedule.isOpen(date)) {
+            return List.of();
+        }
+
+        SlotGrid grid = slotGrid(date, schedule.hoursFor(date.getDayOfWeek()), service, staffIds, LocalDateTime.now());
+        List<SlotHold> holds = slotHoldStore.findActive(businessId, date);
+
+        return grid.nearestAvailable(requested, CONFLICT_ALTERNATIVES, slot -> withoutHeldStaff(slot, holds));
+    }
+
+    /**
+     * Removes staff members held by another customer from each slot, marking slots with no
+     * staff left as unavailable. Returns the input unchanged when there are no holds, and
+     * never mutates it.
+     */
+    private AvailableTimesResponse applyHolds(Long businessId, AvailableTimesResponse day) {
+        List<SlotHold> holds = slotHoldStore.findActive(businessId, day.getDate());
+        if (holds.isEmpty()) {
+            return day;
+        }
+
+        List<AvailableTimeSlot> slots = day.getTimeSlots().stream()
+                .map(slot -> withoutHeldStaff(slot, holds))
+                .collect(Collectors.toList());
+
+        return AvailableTimesResponse.builder()
+                .date(day.getDate())
+                .timeSlots(slots)
+                .build();
+    }
+
+    private AvailableTimeSlot withoutHeldStaff(AvailableTimeSlot slot, List<SlotHold> holds) {
+        if (holds.isEmpty()) {
+            return slot;
+        }
+
+        List<Long> freeStaffIds = slot.getAvailableStaffIds().stream()
+                .filter(staffId -> holds.stream().noneMatch(hold -> hold.getStaffId().equals(staffId)
+                        && hold.overlaps(slot.getStartTime(), slot.getEndTime())))
+                .collect(Collectors.toList());
+        return AvailableTimeSlot.builder()
+                .startTime(slot.getStartTime())
+                .endTime(slot.getEndTime())
+                .available(slot.isAvailable() && !freeStaffIds.isEmpty())
+                .availableStaffIds(freeStaffIds)
+                .build();
+    }
+
+    /**
+     * Staff members who may take the booking, in assignment order: the requested one (if it
+     * performs the service) or every active staff member who does
+     */
+    private List<Long> candidateStaff(Long businessId, Long serviceId, Long requestedStaffId) {
+        List<Long> qualified = staffRepository.findQualifiedStaffIds(businessId, serviceId);
+        if (requestedStaffId == null) {
+            return qualified;
+        }
+        if (!qualified.contains(requestedStaffId)) {
+            throw new ResourceNotFoundException("Staff member not found or does not perform this service");
+        }
+        return List.of(requestedStaffId);
+    }
+
+    /**
+     * True if every candidate has an overlapping confirmed booking. Asks the resident calendar
+     * first and only queries the database when the calendar reports a conflict.
+     * Without the business booking lock, only a true answer can be relied on.
+     */
+    private boolean isTaken(Long businessId, List<Long> candidates, LocalDateTime startTime, LocalDateTime endTime) {
+        return calendarEngine.firstFree(candidates, startTime, endTime) == null
+                && freeStaff(businessId, candidates, startTime, endTime).isEmpty();
+    }
+
+    /**
+     * Candidates without an overlapping confirmed booking, checked against the database.
+     * Authoritative only under the business booking lock.
+     */
+    private List<Long> freeStaff(Long businessId, List<Long> candidates, LocalDateTime startTime, LocalDateTime endTime) {
+        List<Long> busy = bookingRepository.findBusyStaffIds(businessId, startTime, endTime);
+        return candidates.stream()
+                .filter(staffId -> !busy.contains(staffId))
+                .collect(Collectors.toList());
+    }
+
+    private BookingConflictException slotTaken(Long businessId, Service service, List<Long> staffIds,
+                                               LocalDateTime startTime) {
+        return new BookingConflictException(
+                "Time slot is not available. Booking conflicts with existing appointment.",
+                nearestAlternatives(businessId, service, staffIds, startTime)
+        );
+    }
+
+    private BookingConflictException slotHeld(Long businessId, Service service, List<Long> staffIds,
+                                              LocalDateTime startTime) {
+        return new BookingConflictException(
+                "Time slot is temporarily held by another customer",
+                nearestAlternatives(businessId, service, staffIds, startTime)
+        );
+    }
+
+    /**
+     * First minute of the given day at which a slot start is not in the past.
+     */
+    private int firstBookableMinute(LocalDate date, LocalDateTime now) {
+        if (date.isBefore(now.toLocalDate())) {
+            return Integer.MAX_VALUE;
+        }
+        if (date.isAfter(now.toLocalDate())) {
+            return Integer.MIN_VALUE;
         }
-        return false;
+        // A slot starting exactly at "now" is still bookable; any later second rounds up
+        LocalTime time = now.toLocalTime();
+        int minute = DayOccupancy.minuteOfDay(time);
+        return (time.getSecond() == 0 && time.getNano() == 0) ? minute : minute + 1;
     }
 
     private BookingResponse mapToBookingResponse(Booking booking) {
@@ -246,6 +729,8 @@ public class BookingService {
                         .price(booking.getService().getPrice())
                         .active(booking.getService().getActive())
                         .build())
+                .staffId(booking.getStaff().getId())
+                .staffName(booking.getStaff().getName())
                 .startTime(booking.getStartTime())
                 .endTime(booking.getEndTime())
                 .customerName(booking.getCustomerName())
@@ -1,8 +1,13 @@
 package com.example.salon.service;
 
+import com.example.salon.cache.AvailabilityChangedEvent;
+import com.example.salon.cache.ScheduleChangedEvent;
+import com.example.salon.cache.WeeklySchedule;
+import com.example.salon.cache.WeeklyScheduleCache;
 import com.example.salon.dto.BusinessHoursDto;
 import com.example.salon.dto.ClosedDateDto;
 import com.example.salon.exception.ResourceNotFoundException;
+import com.example.salon.exception.UnauthorizedException;
 import com.example.salon.model.Business;
 import com.example.salon.model.BusinessHours;
 import com.example.salon.model.ClosedDate;
@@ -11,11 +16,13 @@ import com.example.salon.repository.BusinessRepository;
 import com.example.salon.repository.ClosedDateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,6 +34,8 @@ public class BusinessHoursService {
     private final BusinessHoursRepository businessHoursRepository;
     private final ClosedDateRepository closedDateRepository;
     private final BusinessRepository businessRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WeeklyScheduleCache weeklyScheduleCache;
 
     @Transactional(readOnly = true)
     public List<BusinessHoursDto> getBusinessHours(Long businessId) {
@@ -58,6 +67,9 @@ public class BusinessHoursService {
             hours.setBreakEndTime(dto.getBreakEndTime());
 
             hours = businessHoursRepository.save(hours);
+            touchSchedule(business);
+            eventPublisher.publishEvent(new ScheduleChangedEvent(businessId));
+            eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(businessId));
             log.info("Successfully updated business hours for business {} on {}", businessId, dayOfWeek);
 
             return mapToDto(hours);
@@ -91,6 +103,8 @@ public class BusinessHoursService {
 
             businessHoursRepository.save(hours);
         }
+        touchSchedule(business);
+        eventPublisher.publishEvent(new ScheduleChangedEvent(businessId));
 
         log.info("Initialized default business hours for business {}", businessId);
     }
@@ -120,33 +134,41 @@ public class BusinessHoursService {
                 .build();
 
         closedDate = closedDateRepository.save(closedDate);
+        touchSchedule(business);
+        eventPublisher.publishEvent(new ScheduleChangedEvent(businessId));
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(businessId, dto.getClosedDate()));
         log.info("Added closed date {} for business {}", dto.getClosedDate(), businessId);
 
         return mapToDto(closedDate);
     }
 
     @Transactional
-    public void deleteClosedDate(Long closedDateId) {
-        closedDateRepository.deleteById(closedDateId);
+    public void deleteClosedDate(Long businessId, Long closedDateId) {
+        closedDateRepository.findById(closedDateId).ifPresent(closedDate -> {
+            // Verify ownership
+            if (!closedDate.getBusiness().getId().equals(businessId)) {
+                throw new UnauthorizedException("You don't have permission to delete this closed date");
+            }
+            closedDateRepository.delete(closedDate);
+            touchSchedule(closedDate.getBusiness());
+            eventPublisher.publishEvent(new ScheduleChangedEvent(businessId));
+            eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(businessId, closedDate.getClosedDate()));
+        });
         log.info("Deleted closed date {}", closedDateId);
     }
 
-    public boolean isBusinessOpen(Long businessId, LocalDate date) {
-        // Check if the date is explicitly closed
-        if (closedDateRepository.findByBusinessIdAndClosedDate(businessId, date).isPresent()) {
-            return false;
-        }
-
-        // Check day of week hours
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        return businessHoursRepository.findByBusinessIdAndDayOfWeek(businessId, dayOfWeek)
-                .map(BusinessHours::getIsOpen)
-                .orElse(false);
+    /**
+     * Compiled weekly hours and closed dates, served from memory after the first call
+     */
+    public WeeklySchedule getSchedule(Long businessId) {
+        return weeklyScheduleCache.get(businessId);
     }
 
-    public BusinessHours getHoursForDay(Long businessId, DayOfWeek dayOfWeek) {
-        return businessHoursRepository.findByBusinessIdAndDayOfWeek(businessId, dayOfWeek)
-                .orElse(null);
+    /**
+     * Stamps the business so a restart knows its snapshotted schedule is stale
+     */
+    private void touchSchedule(Business business) {
+        business.setScheduleUpdatedAt(LocalDateTime.now());
     }
 
     // ============================================
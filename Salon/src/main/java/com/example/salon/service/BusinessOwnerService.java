@@ -1,27 +1,42 @@
 package com.example.salon.service;
 
+import com.example.salon.cache.AvailabilityChangedEvent;
+import com.example.salon.calendar.BookingChangedEvent;
+import com.example.salon.dto.BookingPageResponse;
 import com.example.salon.dto.BookingResponse;
+import com.example.salon.dto.BookingRow;
 import com.example.salon.dto.BusinessResponse;
+import com.example.salon.dto.RescheduleRequest;
 import com.example.salon.dto.ServiceRequest;
 import com.example.salon.dto.ServiceResponse;
+import com.example.salon.dto.StaffRequest;
+import com.example.salon.dto.StaffResponse;
+import com.example.salon.exception.InvalidRequestException;
 import com.example.salon.exception.ResourceNotFoundException;
 import com.example.salon.exception.UnauthorizedException;
 import com.example.salon.model.Booking;
 import com.example.salon.model.Business;
 import com.example.salon.model.Service;
-import com.example.salon.model.User;
+import com.example.salon.model.Staff;
 import com.example.salon.repository.BookingRepository;
 import com.example.salon.repository.BusinessRepository;
 import com.example.salon.repository.ServiceRepository;
-import com.example.salon.repository.UserRepository;
+import com.example.salon.repository.StaffRepository;
+import com.example.salon.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @org.springframework.stereotype.Service
@@ -29,10 +44,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BusinessOwnerService {
 
-    private final UserRepository userRepository;
     private final BusinessRepository businessRepository;
     private final ServiceRepository serviceRepository;
     private final BookingRepository bookingRepository;
+    private final StaffRepository staffRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingService bookingService;
+
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Value("${app.public.url:http://localhost:8081}")
     private String publicUrl;
@@ -42,9 +61,9 @@ public class BusinessOwnerService {
     // ============================================
 
     @Transactional(readOnly = true)
-    public BusinessResponse getMyBusiness(String username) {
-        User owner = getUserByUsername(username);
-        Business business = getBusinessByOwner(owner);
+    public BusinessResponse getMyBusiness(AuthenticatedUser owner) {
+        Business business = businessRepository.findById(owner.requireBusinessId())
+                .orElseThrow(() -> new ResourceNotFoundException("Business not found"));
 
         return BusinessResponse.builder()
                 .id(business.getId())
@@ -61,23 +80,21 @@ public class BusinessOwnerService {
     // ============================================
 
     @Transactional(readOnly = true)
-    public List<ServiceResponse> getMyServices(String username) {
-        User owner = getUserByUsername(username);
-        Business business = getBusinessByOwner(owner);
+    public List<ServiceResponse> getMyServices(AuthenticatedUser owner) {
+        Long businessId = owner.requireBusinessId();
 
-        return serviceRepository.findByBusinessIdAndActiveTrue(business.getId())
+        return serviceRepository.findByBusinessIdAndActiveTrue(businessId)
                 .stream()
                 .map(this::mapServiceToResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional
-    public ServiceResponse addService(String username, ServiceRequest request) {
-        User owner = getUserByUsername(username);
-        Business business = getBusinessByOwner(owner);
+    public ServiceResponse addService(AuthenticatedUser owner, ServiceRequest request) {
+        Long businessId = owner.requireBusinessId();
 
         Service service = Service.builder()
-                .business(business)
+                .business(businessRepository.getReferenceById(businessId))
                 .name(request.getName())
                 .durationMinutes(request.getDurationMinutes())
                 .price(request.getPrice())
@@ -86,21 +103,20 @@ public class BusinessOwnerService {
 
         service = serviceRepository.save(service);
         log.info("Service added by {}: {} for business: {}",
-                username, service.getName(), business.getName());
+                owner.getUsername(), service.getName(), businessId);
 
         return mapServiceToResponse(service);
     }
 
     @Transactional
-    public ServiceResponse updateService(String username, Long serviceId, ServiceRequest request) {
-        User owner = getUserByUsername(username);
-        Business business = getBusinessByOwner(owner);
+    public ServiceResponse updateService(AuthenticatedUser owner, Long serviceId, ServiceRequest request) {
+        Long businessId = owner.requireBusinessId();
 
         Service service = serviceRepository.findById(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
 
-        // Verify ownership
-        if (!service.getBusiness().getId().equals(business.getId())) {
+        // Verify ownership (compares the lazy proxy's id, no business load)
+        if (!service.getBusiness().getId().equals(businessId)) {
             throw new UnauthorizedException("You don't have permission to update this service");
         }
 
@@ -109,115 +125,299 @@ public class BusinessOwnerService {
         service.setPrice(request.getPrice());
 
         service = serviceRepository.save(service);
-        log.info("Service updated by {}: {}", username, service.getName());
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(businessId));
+        log.info("Service updated by {}: {}", owner.getUsername(), service.getName());
 
         return mapServiceToResponse(service);
     }
 
     @Transactional
-    public void deleteService(String username, Long serviceId) {
-        User owner = getUserByUsername(username);
-        Business business = getBusinessByOwner(owner);
+    public void deleteService(AuthenticatedUser owner, Long serviceId) {
+        Long businessId = owner.requireBusinessId();
 
         Service service = serviceRepository.findById(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
 
-        // Verify ownership
-        if (!service.getBusiness().getId().equals(business.getId())) {
+        // Verify ownership (compares the lazy proxy's id, no business load)
+        if (!service.getBusiness().getId().equals(businessId)) {
             throw new UnauthorizedException("You don't have permission to delete this service");
         }
 
         serviceRepository.delete(service);
-        log.info("Service deleted by {}: {}", username, service.getName());
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(businessId));
+        log.info("Service deleted by {}: {}", owner.getUsername(), service.getName());
+    }
+
+    // ============================================
+    // STAFF MANAGEMENT
+    // ============================================
+
+    @Transactional(readOnly = true)
+    public List<StaffResponse> getMyStaff(AuthenticatedUser owner) {
+        return staffRepository.findByBusinessIdAndActiveTrueOrderById(owner.requireBusinessId())
+                .stream()
+                .map(this::mapStaffToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public StaffResponse addStaff(AuthenticatedUser owner, StaffRequest request) {
+        Long businessId = owner.requireBusinessId();
+
+        Staff staff = Staff.builder()
+                .business(businessRepository.getReferenceById(businessId))
+                .name(request.getName())
+                .services(findMyServices(businessId, request.getServiceIds()))
+                .active(true)
+                .build();
+
+        staff = staffRepository.save(staff);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(businessId));
+        log.info("Staff member added by {}: {} for business: {}", owner.getUsername(), staff.getName(), businessId);
+
+        return mapStaffToResponse(staff);
+    }
+
+    @Transactional
+    public StaffResponse updateStaff(AuthenticatedUser owner, Long staffId, StaffRequest request) {
+        Long businessId = owner.requireBusinessId();
+
+        Staff staff = staffRepository.findByIdAndBusinessId(staffId, businessId)
+                .orElseThrow(() -> new ResourceNotFoundException("Staff member not found"));
+
+        staff.setName(request.getName());
+        staff.setServices(findMyServices(businessId, request.getServiceIds()));
+
+        staff = staffRepository.save(staff);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(businessId));
+        log.info("Staff member updated by {}: {}", owner.getUsername(), staff.getName());
+
+        return mapStaffToResponse(staff);
+    }
+
+    /**
+     * Deactivates a staff member. Their existing bookings stay; they just take no new ones.
+     */
+    @Transactional
+    public void removeStaff(AuthenticatedUser owner, Long staffId) {
+        Long businessId = owner.requireBusinessId();
+
+        Staff staff = staffRepository.findByIdAndBusinessId(staffId, businessId)
+                .orElseThrow(() -> new ResourceNotFoundException("Staff member not found"));
+
+        if (staff.getActive() && staffRepository.countByBusinessIdAndActiveTrue(businessId) <= 1) {
+            throw new InvalidRequestException("A business needs at least one active staff member");
+        }
+
+        staff.setActive(false);
+        staffRepository.save(staff);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(businessId));
+        log.info("Staff member removed by {}: {}", owner.getUsername(), staff.getName());
     }
 
     // ============================================
     // BOOKING MANAGEMENT
     // ============================================
 
+    /**
+     * Booking history, newest first, one keyset page at a time.
+     * The cursor is opaque to clients and taken from the previous page's nextCursor.
+     */
     @Transactional(readOnly = true)
-    public List<BookingResponse> getAllMyBookings(String username) {
-        User owner = getUserByUsername(username);
-        Business business = getBusinessByOwner(owner);
+    public BookingPageResponse getMyBookingHistory(AuthenticatedUser owner, Booking.BookingStatus status,
+                                                   LocalDate from, LocalDate to, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new InvalidRequestException("'to' must not be before 'from'");
+        }
 
-        List<Booking> bookings = bookingRepository.findByBusinessId(business.getId());
+        Long businessId = owner.requireBusinessId();
 
-        return bookings.stream()
-                .map(this::mapBookingToResponse)
-                .collect(Collectors.toList());
+        LocalDateTime cursorStartTime = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorStartTime = LocalDateTime.parse(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<BookingRow> rows = bookingRepository.findHistoryPage(
+                businessId,
+                status,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                cursorStartTime,
+                cursorId,
+                limit + 1
+        );
+
+        boolean hasMore = rows.size() > limit;
+        List<BookingRow> page = hasMore ? rows.subList(0, limit) : rows;
+        BookingRow last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return BookingPageResponse.builder()
+                .bookings(page.stream()
+                        .map(BookingRow::toResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? encodeCursor(last.getStartTime(), last.getId()) : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional(readOnly = true)
-    public List<BookingResponse> getMyBookingsByDate(String username, LocalDate date) {
-        User owner = getUserByUsername(username);
-        Business business = getBusinessByOwner(owner);
+    public List<BookingResponse> getMyBookingsByDate(AuthenticatedUser owner, LocalDate date) {
+        Long businessId = owner.requireBusinessId();
 
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = startOfDay.plusDays(1);
 
         return bookingRepository
-                .findByBusinessIdAndStartTimeBetween(business.getId(), startOfDay, endOfDay)
+                .findRowsByBusinessIdAndStartTimeBetween(businessId, startOfDay, endOfDay)
                 .stream()
-                .map(this::mapBookingToResponse)
+                .map(BookingRow::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional
-    public BookingResponse completeBooking(String username, Long bookingId) {
-        User owner = getUserByUsername(username);
-        Business business = getBusinessByOwner(owner);
+    public BookingResponse completeBooking(AuthenticatedUser owner, Long bookingId) {
+        Long businessId = owner.requireBusinessId();
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-
-        // Verify ownership
-        if (!booking.getBusiness().getId().equals(business.getId())) {
-            throw new UnauthorizedException("You don't have permission to modify this booking");
+        Booking booking = lockOwnBooking(businessId, bookingId, "You don't have permission to modify this booking");
+        if (booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
+            throw new InvalidRequestException("Only confirmed bookings can be completed");
         }
 
         booking.setStatus(Booking.BookingStatus.COMPLETED);
         booking = bookingRepository.save(booking);
+        // A completed booking no longer occupies its staff member (see BookingStatus)
+        eventPublisher.publishEvent(BookingChangedEvent.released(
+                booking.getId(), businessId, booking.getStaff().getId(), booking.getStartTime(), booking.getEndTime()));
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(businessId, booking.getStartTime().toLocalDate()));
 
-        log.info("Booking {} marked as completed by {}", bookingId, username);
+        log.info("Booking {} marked as completed by {}", bookingId, owner.getUsername());
 
         return mapBookingToResponse(booking);
     }
 
     @Transactional
-    public BookingResponse cancelBooking(String username, Long bookingId) {
-        User owner = getUserByUsername(username);
-        Business business = getBusinessByOwner(owner);
+    public BookingResponse cancelBooking(AuthenticatedUser owner, Long bookingId) {
+        Long businessId = owner.requireBusinessId();
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-
-        // Verify ownership
-        if (!booking.getBusiness().getId().equals(business.getId())) {
-            throw new UnauthorizedException("You don't have permission to cancel this booking");
+        Booking booking = lockOwnBooking(businessId, bookingId, "You don't have permission to cancel this booking");
+        if (booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
+            throw new InvalidRequestException("Only confirmed bookings can be cancelled");
         }
 
         booking.setStatus(Booking.BookingStatus.CANCELLED);
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.released(
+                booking.getId(), businessId, booking.getStaff().getId(), booking.getStartTime(), booking.getEndTime()));
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(businessId, booking.getStartTime().toLocalDate()));
 
-        log.info("Booking {} cancelled by {}", bookingId, username);
+        log.info("Booking {} cancelled by {}", bookingId, owner.getUsername());
 
         return mapBookingToResponse(booking);
     }
 
+    /**
+     * Moves a booking in place; replaces cancelling and rebooking, which freed the old slot
+     * before the new one was secured
+     */
+    @Transactional
+    public BookingResponse rescheduleBooking(AuthenticatedUser owner, Long bookingId, RescheduleRequest request) {
+        Long businessId = owner.requireBusinessId();
+
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+
+        // Verify ownership (compares the lazy proxy's id, no business load)
+        if (!booking.getBusiness().getId().equals(businessId)) {
+            throw new UnauthorizedException("You don't have permission to modify this booking");
+        }
+
+        // Joins this transaction and finds the booking already loaded
+        BookingResponse response = bookingService.rescheduleBooking(bookingId, request.getStartTime());
+
+        log.info("Booking {} rescheduled by {}", bookingId, owner.getUsername());
+
+        return response;
+    }
+
     // ============================================
     // HELPER METHODS
     // ============================================
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+    /**
+     * The business's booking, re-read under its row lock. rescheduleBooking takes the same lock,
+     * so a status change never writes back start and end times read before a reschedule committed.
+     */
+    private Booking lockOwnBooking(Long businessId, Long bookingId, String forbiddenMessage) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+
+        // Verify ownership (compares the lazy proxy's id, no business load)
+        if (!booking.getBusiness().getId().equals(businessId)) {
+            throw new UnauthorizedException(forbiddenMessage);
+        }
+
+        bookingRepository.refreshForUpdate(booking);
+        return booking;
+    }
+
+    private String encodeCursor(LocalDateTime startTime, Long id) {
+        String raw = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
-    private Business getBusinessByOwner(User owner) {
-        if (owner.getBusiness() == null) {
-            throw new ResourceNotFoundException("User is not associated with any business");
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            // Validate both parts up front so a bad cursor is a 400, not a 500
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidRequestException("Invalid cursor");
         }
-        return owner.getBusiness();
+    }
+
+    /**
+     * The business's services with the given ids; null or empty means none (all services)
+     */
+    private Set<Service> findMyServices(Long businessId, Set<Long> serviceIds) {
+        if (serviceIds == null || serviceIds.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<Service> services = new HashSet<>();
+        for (Service service : serviceRepository.findAllById(serviceIds)) {
+            if (service.getBusiness().getId().equals(businessId)) {
+                services.add(service);
+            }
+        }
+        if (services.size() != serviceIds.size()) {
+            throw new ResourceNotFoundException("Service not found");
+        }
+        return services;
+    }
+
+    private StaffResponse mapStaffToResponse(Staff staff) {
+        return StaffResponse.builder()
+                .id(staff.getId())
+                .name(staff.getName())
+                .active(staff.getActive())
+                .serviceIds(staff.getServices().stream()
+                        .map(Service::getId)
+                        .sorted()
+                        .collect(Collectors.toList()))
+                .build();
     }
 
     private ServiceResponse mapServiceToResponse(Service service) {
@@ -234,6 +434,8 @@ public class BusinessOwnerService {
         return BookingResponse.builder()
                 .id(booking.getId())
                 .service(mapServiceToResponse(booking.getService()))
+                .staffId(booking.getStaff().getId())
+                .staffName(booking.getStaff().getName())
                 .startTime(booking.getStartTime())
                 .endTime(booking.getEndTime())
                 .customerName(booking.getCustomerName())
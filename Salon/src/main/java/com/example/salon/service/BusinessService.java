@@ -1,17 +1,22 @@
 package com.example.salon.service;
 
+import com.example.salon.cache.BusinessChangedEvent;
+import com.example.salon.cache.BusinessSnapshot;
 import com.example.salon.dto.BusinessRequest;
 import com.example.salon.dto.BusinessResponse;
 import com.example.salon.dto.BusinessWithOwnerResponse;
 import com.example.salon.exception.DuplicateResourceException;
 import com.example.salon.exception.ResourceNotFoundException;
 import com.example.salon.model.Business;
+import com.example.salon.model.Staff;
 import com.example.salon.model.User;
 import com.example.salon.repository.BusinessRepository;
+import com.example.salon.repository.StaffRepository;
 import com.example.salon.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,8 +32,13 @@ public class BusinessService {
 
     private final BusinessRepository businessRepository;
     private final UserRepository userRepository;
+    private final StaffRepository staffRepository;
     private final PasswordEncoder passwordEncoder;
     private final BusinessHoursService businessHoursService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // New businesses start with one chair; owners add more under /api/business/staff
+    private static final String DEFAULT_STAFF_NAME = "Chair 1";
 
     @Value("${app.public.url:http://localhost:8081}")
     private String publicUrl;
@@ -87,6 +97,15 @@ public class BusinessService {
         // Step 4: Initialize default business hours (Monday-Friday 9:00-18:00)
         businessHoursService.initializeDefaultHours(business.getId());
 
+        // Step 5: Add the first staff member, so the business can take bookings
+        staffRepository.save(Staff.builder()
+                .business(business)
+                .name(DEFAULT_STAFF_NAME)
+                .active(true)
+                .build());
+
+        eventPublisher.publishEvent(BusinessChangedEvent.saved(BusinessSnapshot.of(business)));
+
         log.info("Business created: {} with owner: {}", business.getName(), owner.getUsername());
 
         // Return response with owner credentials
@@ -125,6 +144,7 @@ public class BusinessService {
 
         business.setActive(active);
         business = businessRepository.save(business);
+        eventPublisher.publishEvent(BusinessChangedEvent.saved(BusinessSnapshot.of(business)));
 
         log.info("Business {} status updated to: {}", business.getName(), active);
 
@@ -137,6 +157,7 @@ public class BusinessService {
                 .orElseThrow(() -> new ResourceNotFoundException("Business not found"));
 
         businessRepository.delete(business);
+        eventPublisher.publishEvent(BusinessChangedEvent.deleted(business.getSlug()));
 
         log.info("Business deleted: {}", business.getName());
     }
@@ -0,0 +1,102 @@
+package com.example.salon.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+
+/**
+ * Minute-resolution occupancy map for a single business day.
+ * Bookings are folded into a prefix-sum table so that checking whether a slot
+ * overlaps any booking is a constant-time range probe instead of a scan over
+ * the day's booking list.
+ */
+public final class DayOccupancy {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    // Bookings starting late in the day may run past midnight, so the table spans two days
+    private static final int HORIZON_MINUTES = 2 * MINUTES_PER_DAY;
+
+    private final LocalDate date;
+    private final int[] occupiedPrefix;
+    private final BitSet breakMinutes;
+
+    private DayOccupancy(LocalDate date, int[] occupiedPrefix, BitSet breakMinutes) {
+        this.date = date;
+        this.occupiedPrefix = occupiedPrefix;
+        this.breakMinutes = breakMinutes;
+    }
+
+    /**
+     * Builds the map from intervals in absolute minutes, using entries [fromIndex, toIndex)
+     * of the arrays. dayStartMinute is the absolute minute at which the date starts.
+     */
+    public static DayOccupancy ofIntervals(LocalDate date, long dayStartMinute, long[] startMinutes, long[] endMinutes,
+                                           int fromIndex, int toIndex, LocalTime breakStart, LocalTime breakEnd) {
+        int[] delta = new int[HORIZON_MINUTES + 1];
+        for (int i = fromIndex; i < toIndex; i++) {
+            addInterval(delta,
+                    (int) Math.max(-1, Math.min(HORIZON_MINUTES + 1, startMinutes[i] - dayStartMinute)),
+                    (int) Math.max(-1, Math.min(HORIZON_MINUTES + 1, endMinutes[i] - dayStartMinute)));
+        }
+        return build(date, delta, breakStart, breakEnd);
+    }
+
+    private static void addInterval(int[] delta, int fromMinute, int toMinute) {
+        int from = clamp(fromMinute);
+        int to = clamp(toMinute);
+        if (from < to) {
+            delta[from]++;
+            delta[to]--;
+        }
+    }
+
+    private static DayOccupancy build(LocalDate date, int[] delta, LocalTime breakStart, LocalTime breakEnd) {
+        // occupiedPrefix[m] = number of occupied minutes in [0, m)
+        int[] occupiedPrefix = new int[HORIZON_MINUTES + 1];
+        int active = 0;
+        for (int m = 0; m < HORIZON_MINUTES; m++) {
+            active += delta[m];
+            occupiedPrefix[m + 1] = occupiedPrefix[m] + (active > 0 ? 1 : 0);
+        }
+
+        BitSet breakMinutes = new BitSet(MINUTES_PER_DAY);
+        if (breakStart != null && breakEnd != null) {
+            int from = minuteOfDay(breakStart);
+            int to = minuteOfDay(breakEnd);
+            if (from < to) {
+                breakMinutes.set(from, to);
+            }
+        }
+
+        return new DayOccupancy(date, occupiedPrefix, breakMinutes);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * True if any booking overlaps the half-open minute range [fromMinute, toMinute).
+     */
+    public boolean isOccupied(int fromMinute, int toMinute) {
+        int from = clamp(fromMinute);
+        int to = clamp(toMinute);
+        return from < to && occupiedPrefix[to] - occupiedPrefix[from] > 0;
+    }
+
+    /**
+     * True if a slot starting at the given minute starts inside the break window.
+     */
+    public boolean startsDuringBreak(int startMinute) {
+        return startMinute >= 0 && startMinute < MINUTES_PER_DAY && breakMinutes.get(startMinute);
+    }
+
+    static int minuteOfDay(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    private static int clamp(int minute) {
+        return Math.max(0, Math.min(HORIZON_MINUTES, minute));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.salon.service;
+
+import com.example.salon.dto.BookingRequest;
+import com.example.salon.dto.BookingResponse;
+import com.example.salon.exception.InvalidRequestException;
+import com.example.salon.model.IdempotencyRecord;
+import com.example.salon.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Dedupes booking submissions carrying an Idempotency-Key header.
+ * Responses are persisted in idempotency_records, with a bounded in-memory LRU in front
+ * so most replays are answered without a database round trip.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final Duration ttl;
+    private final int maxEntries;
+
+    // Access-ordered map for LRU eviction, guarded by "this"
+    private final LinkedHashMap<String, CachedResponse> recent;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.maxEntries = maxEntries;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > IdempotencyService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The stored response for this key, if the key was used before.
+     * Throws if the key was used for a different booking request.
+     */
+    public Optional<BookingResponse> findBookingResponse(Long businessId, String requestKey, BookingRequest request) {
+        String cacheKey = cacheKey(businessId, requestKey);
+        String requestHash = hash(request);
+        LocalDateTime now = LocalDateTime.now();
+
+        CachedResponse cached;
+        synchronized (this) {
+            cached = recent.get(cacheKey);
+        }
+        if (cached != null && now.isBefore(cached.expiresAt)) {
+            return Optional.of(verified(cached.requestHash, requestHash, cached.response));
+        }
+
+        return idempotencyRecordRepository.findByBusinessIdAndRequestKey(businessId, requestKey)
+                .filter(record -> now.isBefore(record.getExpiresAt()))
+                .map(record -> {
+                    BookingResponse response = deserialize(record.getResponseBody());
+                    remember(cacheKey, new CachedResponse(record.getRequestHash(), response, record.getExpiresAt()));
+                    return verified(record.getRequestHash(), requestHash, response);
+                });
+    }
+
+    /**
+     * Persists the response in the caller's transaction; the in-memory entry is only
+     * added after commit so a rolled back booking is never replayed.
+     */
+    public void saveBookingResponse(Long businessId, String requestKey, BookingRequest request, BookingResponse response) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        String requestHash = hash(request);
+
+        // Reuse an expired record for the same key rather than violating the unique constraint
+        IdempotencyRecord record = idempotencyRecordRepository.findByBusinessIdAndRequestKey(businessId, requestKey)
+                .orElseGet(() -> IdempotencyRecord.builder()
+                        .businessId(businessId)
+                        .requestKey(requestKey)
+                        .build());
+
+        record.setRequestHash(requestHash);
+        record.setResponseBody(serialize(response));
+        record.setExpiresAt(expiresAt);
+        idempotencyRecordRepository.save(record);
+
+        CachedResponse entry = new CachedResponse(requestHash, response, expiresAt);
+        String cacheKey = cacheKey(businessId, requestKey);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(cacheKey, entry);
+                }
+            });
+        } else {
+            remember(cacheKey, entry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = idempotencyRecordRepository.deleteExpired(now);
+        synchronized (this) {
+            recent.values().removeIf(entry -> !now.isBefore(entry.expiresAt));
+        }
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency records", deleted);
+        }
+    }
+
+    private synchronized void remember(String cacheKey, CachedResponse entry) {
+        recent.put(cacheKey, entry);
+    }
+
+    private BookingResponse verified(String storedHash, String requestHash, BookingResponse response) {
+        if (!storedHash.equals(requestHash)) {
+            throw new InvalidRequestException("Idempotency-Key was already used for a different booking request");
+        }
+        return response;
+    }
+
+    private String cacheKey(Long businessId, String requestKey) {
+        return businessId + ":" + requestKey;
+    }
+
+    /**
+     * Digest of the whole request as JSON, so every field (staff, hold token and any added
+     * later) takes part and field values cannot run into each other
+     */
+    private String hash(BookingRequest request) {
+        try {
+            byte[] fingerprint = objectMapper.writeValueAsBytes(request);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(fingerprint));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize booking request", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private String serialize(BookingResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize booking response", ex);
+        }
+    }
+
+    private BookingResponse deserialize(String body) {
+        try {
+            return objectMapper.readValue(body, BookingResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not deserialize stored booking response", ex);
+        }
+    }
+
+    private static final class CachedResponse {
+        private final String requestHash;
+        private final BookingResponse response;
+        private final LocalDateTime expiresAt;
+
+        private CachedResponse(String requestHash, BookingResponse response, LocalDateTime expiresAt) {
+            this.requestHash = requestHash;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.salon.service;
 
+import com.example.salon.cache.AvailabilityChangedEvent;
+import com.example.salon.cache.BusinessDirectory;
 import com.example.salon.dto.ServiceRequest;
 import com.example.salon.dto.ServiceResponse;
 import com.example.salon.exception.ResourceNotFoundException;
@@ -9,6 +11,7 @@ import com.example.salon.repository.BusinessRepository;
 import com.example.salon.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +25,8 @@ public class ServiceManagementService {
 
     private final ServiceRepository serviceRepository;
     private final BusinessRepository businessRepository;
+    private final BusinessDirectory businessDirectory;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ServiceResponse createService(String businessSlug, ServiceRequest request) {
@@ -45,10 +50,9 @@ public class ServiceManagementService {
 
     @Transactional(readOnly = true)
     public List<ServiceResponse> getActiveServices(String businessSlug) {
-        Business business = businessRepository.findBySlug(businessSlug)
-                .orElseThrow(() -> new ResourceNotFoundException("Business not found: " + businessSlug));
+        Long businessId = businessDirectory.getBySlug(businessSlug).getId();
 
-        return serviceRepository.findByBusinessIdAndActiveTrue(business.getId())
+        return serviceRepository.findByBusinessIdAndActiveTrue(businessId)
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -67,6 +71,7 @@ public class ServiceManagementService {
         service.setPrice(request.getPrice());
 
         service = serviceRepository.save(service);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(business.getId()));
 
         log.info("Service updated: {}", service.getId());
 
@@ -82,6 +87,7 @@ public class ServiceManagementService {
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
 
         serviceRepository.delete(service);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.forBusiness(business.getId()));
 
         log.info("Service deleted: {}", serviceId);
     }
@@ -0,0 +1,121 @@
+package com.example.salon.service;
+
+import com.example.salon.dto.AvailableTimeSlot;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * The slots of one business day for one service: a slot every 30 minutes from opening, each
+ * ending by closing time. Slots are evaluated one at a time against every staff member's
+ * {@link DayOccupancy}, so callers can scan the whole day or search outward from a given time.
+ */
+final class SlotGrid {
+
+    static final int INTERVAL_MINUTES = 30;
+
+    private final LocalDateTime startOfDay;
+    private final int openMinute;
+    private final int durationMinutes;
+    private final int firstBookableMinute;
+    private final int size;
+    private final List<Long> staffIds;
+    private final List<DayOccupancy> occupancies;
+
+    /**
+     * occupancies.get(i) must belong to staffIds.get(i)
+     */
+    SlotGrid(LocalDate date, int openMinute, int closeMinute, int durationMinutes, int firstBookableMinute,
+             List<Long> staffIds, List<DayOccupancy> occupancies) {
+        this.startOfDay = date.atStartOfDay();
+        this.openMinute = openMinute;
+        this.durationMinutes = durationMinutes;
+        this.firstBookableMinute = firstBookableMinute;
+        this.staffIds = staffIds;
+        this.occupancies = occupancies;
+
+        // Don't add a slot that would end after closing time
+        int lastStart = closeMinute - durationMinutes;
+        this.size = lastStart < openMinute ? 0 : (lastStart - openMinute) / INTERVAL_MINUTES + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Index of the first slot starting at or after the given time, or size() if there is none
+     */
+    int indexAtOrAfter(LocalDateTime time) {
+        long seconds = Duration.between(startOfDay, time).getSeconds();
+        long minute = -Math.floorDiv(-seconds, 60L);
+        long index = -Math.floorDiv(-(minute - openMinute), (long) INTERVAL_MINUTES);
+        return (int) Math.max(0, Math.min(size, index));
+    }
+
+    /**
+     * The slot at the index with the staff members free for all of it. A staff member is free
+     * unless the slot starts during the break or overlaps one of their bookings; slots in the
+     * past have no free staff.
+     */
+    AvailableTimeSlot slot(int index) {
+        int minute = openMinute + index * INTERVAL_MINUTES;
+        int slotEndMinute = minute + durationMinutes;
+
+        List<Long> freeStaffIds = new ArrayList<>();
+        if (minute >= firstBookableMinute) {
+            for (int i = 0; i < occupancies.size(); i++) {
+                DayOccupancy occupancy = occupancies.get(i);
+                if (!occupancy.startsDuringBreak(minute) && !occupancy.isOccupied(minute, slotEndMinute)) {
+                    freeStaffIds.add(staffIds.get(i));
+                }
+            }
+        }
+
+        LocalDateTime slotStart = startOfDay.plusMinutes(minute);
+        return AvailableTimeSlot.builder()
+                .startTime(slotStart)
+                .endTime(slotStart.plusMinutes(durationMinutes))
+                .available(!freeStaffIds.isEmpty())
+                .availableStaffIds(freeStaffIds)
+                .build();
+    }
+
+    /**
+     * Up to perSide available slots on each side of the requested time, nearest first on each
+     * side and returned in time order. A slot starting exactly at the requested time is not an
+     * alternative. Each slot goes through the filter before its availability is checked.
+     */
+    List<AvailableTimeSlot> nearestAvailable(LocalDateTime requested, int perSide, UnaryOperator<AvailableTimeSlot> filter) {
+        List<AvailableTimeSlot> before = new ArrayList<>();
+        List<AvailableTimeSlot> after = new ArrayList<>();
+        int pivot = indexAtOrAfter(requested);
+
+        // Alternate sides so both stop as soon as they have enough
+        for (int left = pivot - 1, right = pivot;
+             (left >= 0 && before.size() < perSide) || (right < size && after.size() < perSide);
+             left--, right++) {
+            if (left >= 0 && before.size() < perSide) {
+                AvailableTimeSlot slot = filter.apply(slot(left));
+                if (slot.isAvailable()) {
+                    before.add(slot);
+                }
+            }
+            if (right < size && after.size() < perSide) {
+                AvailableTimeSlot slot = filter.apply(slot(right));
+                if (slot.isAvailable() && !slot.getStartTime().equals(requested)) {
+                    after.add(slot);
+                }
+            }
+        }
+
+        Collections.reverse(before);
+        before.addAll(after);
+        return before;
+    }
+}
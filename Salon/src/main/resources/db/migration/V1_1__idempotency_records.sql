@@ -0,0 +1,17 @@
+-- Stored responses for Idempotency-Key on public booking creation. Not part of the
+-- baseline, so it is its own migration: databases baselined at V1 still get it.
+
+CREATE TABLE IF NOT EXISTS idempotency_records (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    business_id   BIGINT       NOT NULL,
+    request_key   VARCHAR(100) NOT NULL,
+    request_hash  VARCHAR(64)  NOT NULL,
+    response_body TEXT         NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    expires_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_idempotency_records_business_key UNIQUE (business_id, request_key)
+);
+
+-- Hourly purge of expired idempotency records
+CREATE INDEX IF NOT EXISTS idx_idempotency_records_expires
+    ON idempotency_records (expires_at);
@@ -0,0 +1,71 @@
+-- Baseline: the schema previously generated by spring.jpa.hibernate.ddl-auto=update
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(50)  NOT NULL UNIQUE,
+    email       VARCHAR(100) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    role        VARCHAR(20)  NOT NULL,
+    business_id BIGINT,
+    active      BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE businesses (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(100) NOT NULL,
+    slug       VARCHAR(50)  NOT NULL UNIQUE,
+    owner_id   BIGINT UNIQUE,
+    active     BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+ALTER TABLE users
+    ADD CONSTRAINT fk_users_business FOREIGN KEY (business_id) REFERENCES businesses (id);
+
+ALTER TABLE businesses
+    ADD CONSTRAINT fk_businesses_owner FOREIGN KEY (owner_id) REFERENCES users (id);
+
+CREATE TABLE services (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    business_id      BIGINT         NOT NULL REFERENCES businesses (id),
+    name             VARCHAR(255)   NOT NULL,
+    duration_minutes INTEGER        NOT NULL,
+    price            NUMERIC(10, 2) NOT NULL,
+    active           BOOLEAN        NOT NULL,
+    created_at       TIMESTAMP(6)   NOT NULL,
+    updated_at       TIMESTAMP(6)
+);
+
+CREATE TABLE bookings (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    business_id    BIGINT       NOT NULL REFERENCES businesses (id),
+    service_id     BIGINT       NOT NULL REFERENCES services (id),
+    start_time     TIMESTAMP(6) NOT NULL,
+    end_time       TIMESTAMP(6) NOT NULL,
+    customer_name  VARCHAR(255) NOT NULL,
+    customer_phone VARCHAR(255) NOT NULL,
+    status         VARCHAR(255) NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE TABLE business_hours (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    business_id      BIGINT       NOT NULL REFERENCES businesses (id),
+    day_of_week      VARCHAR(255) NOT NULL,
+    is_open          BOOLEAN      NOT NULL,
+    open_time        TIME(6),
+    close_time       TIME(6),
+    break_start_time TIME(6),
+    break_end_time   TIME(6)
+);
+
+CREATE TABLE closed_dates (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    business_id BIGINT NOT NULL REFERENCES businesses (id),
+    closed_date DATE   NOT NULL,
+    reason      VARCHAR(200)
+);
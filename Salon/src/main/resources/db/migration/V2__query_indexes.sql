@@ -0,0 +1,32 @@
+-- Indexes for the hot repository queries
+
+-- findByBusinessIdAndStartTimeBetween, findRowsByBusinessIdAndStartTimeBetween and the
+-- keyset-paginated history (ORDER BY start_time DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_bookings_business_start
+    ON bookings (business_id, start_time, id);
+
+-- findOverlappingBookings only ever looks at CONFIRMED rows
+CREATE INDEX IF NOT EXISTS idx_bookings_confirmed_business_start_end
+    ON bookings (business_id, start_time, end_time)
+    WHERE status = 'CONFIRMED';
+
+-- findByCustomerPhone / findRowsByCustomerPhone
+CREATE INDEX IF NOT EXISTS idx_bookings_customer_phone
+    ON bookings (customer_phone, start_time);
+
+-- Foreign key lookups when services are deleted
+CREATE INDEX IF NOT EXISTS idx_bookings_service
+    ON bookings (service_id);
+
+-- findByBusinessIdAndDayOfWeek / findByBusinessIdOrderByDayOfWeek
+CREATE INDEX IF NOT EXISTS idx_business_hours_business_day
+    ON business_hours (business_id, day_of_week);
+
+-- findByBusinessIdAndClosedDate and the closed date range queries
+CREATE INDEX IF NOT EXISTS idx_closed_dates_business_date
+    ON closed_dates (business_id, closed_date);
+
+-- findByBusinessIdAndActiveTrue
+CREATE INDEX IF NOT EXISTS idx_services_business_active
+    ON services (business_id)
+    WHERE active;
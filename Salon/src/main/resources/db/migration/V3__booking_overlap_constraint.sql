@@ -0,0 +1,41 @@
+-- Database-level guarantee that CONFIRMED bookings of one business never overlap.
+-- BookingService already serializes writes per business with an advisory lock;
+-- this constraint is the backstop if anything bypasses that path.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Databases from before the booking lock may already hold overlapping CONFIRMED bookings.
+-- Stop with the ids to resolve (cancel or move one booking of each pair) instead of
+-- failing on a bare constraint violation; the migration reruns on the next start.
+DO $$
+DECLARE
+    overlapping TEXT;
+BEGIN
+    SELECT string_agg(format('%s/%s', first_id, second_id), ', ' ORDER BY first_id, second_id)
+    INTO overlapping
+    FROM (
+        SELECT a.id AS first_id, b.id AS second_id
+        FROM bookings a
+        JOIN bookings b
+            ON b.business_id = a.business_id
+            AND b.id > a.id
+            AND tsrange(b.start_time, b.end_time) && tsrange(a.start_time, a.end_time)
+        WHERE a.status = 'CONFIRMED'
+          AND b.status = 'CONFIRMED'
+        ORDER BY a.id, b.id
+        LIMIT 100
+    ) pairs;
+
+    IF overlapping IS NOT NULL THEN
+        RAISE EXCEPTION 'Overlapping CONFIRMED bookings in one business (booking id pairs, first 100): %', overlapping
+            USING HINT = 'Cancel or move one booking of each pair, then restart to rerun this migration';
+    END IF;
+END $$;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT ex_bookings_confirmed_no_overlap
+    EXCLUDE USING gist (
+        business_id WITH =,
+        tsrange(start_time, end_time) WITH &&
+    )
+    WHERE (status = 'CONFIRMED');
@@ -0,0 +1,13 @@
+-- Watermarks for replaying changes made after the last calendar snapshot was written
+
+-- Delta replay of bookings changed since the snapshot (findIntervalsUpdatedAfter)
+CREATE INDEX IF NOT EXISTS idx_bookings_updated_at
+    ON bookings (updated_at);
+
+-- Set whenever a business's hours or closed dates change, so snapshotted schedules
+-- of businesses changed since the snapshot are reloaded instead of trusted
+ALTER TABLE businesses
+    ADD COLUMN IF NOT EXISTS schedule_updated_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_businesses_schedule_updated_at
+    ON businesses (schedule_updated_at);
@@ -0,0 +1,78 @@
+package com.example.salon;
+
+import com.example.salon.dto.BusinessRequest;
+import com.example.salon.dto.BusinessWithOwnerResponse;
+import com.example.salon.model.Service;
+import com.example.salon.model.Staff;
+import com.example.salon.repository.BusinessRepository;
+import com.example.salon.repository.ServiceRepository;
+import com.example.salon.repository.StaffRepository;
+import com.example.salon.service.BusinessService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.UUID;
+
+/**
+ * Creates businesses for tests that run against the database. Every business gets a unique
+ * slug, so tests never see each other's data. Import with @Import(SalonFixtures.class).
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class SalonFixtures {
+
+    private final BusinessService businessService;
+    private final BusinessRepository businessRepository;
+    private final ServiceRepository serviceRepository;
+    private final StaffRepository staffRepository;
+
+    /**
+     * A new active business with default hours (Monday-Friday 9:00-18:00) and one staff member
+     */
+    public BusinessWithOwnerResponse createBusiness() {
+        String slug = "test-" + UUID.randomUUID().toString().substring(0, 12);
+        return businessService.createBusiness(BusinessRequest.builder()
+                .name("Test " + slug)
+                .slug(slug)
+                .ownerEmail(slug + "@example.com")
+                .build());
+    }
+
+    @Transactional
+    public Service addService(Long businessId, int durationMinutes) {
+        return serviceRepository.save(Service.builder()
+                .business(businessRepository.getReferenceById(businessId))
+                .name("Cut " + durationMinutes)
+                .durationMinutes(durationMinutes)
+                .price(new BigDecimal("250.00"))
+                .active(true)
+                .build());
+    }
+
+    @Transactional
+    public Staff addStaff(Long businessId, String name) {
+        return staffRepository.save(Staff.builder()
+                .business(businessRepository.getReferenceById(businessId))
+                .name(name)
+                .active(true)
+                .build());
+    }
+
+    public Long firstStaffId(Long businessId) {
+        return staffRepository.findByBusinessIdAndActiveTrueOrderById(businessId).get(0).getId();
+    }
+
+    /**
+     * The given time on a weekday at least a week ahead, inside the default opening hours
+     */
+    public static LocalDateTime nextWeekdayAt(int hour, int minute) {
+        LocalDate date = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.TUESDAY));
+        return date.atTime(hour, minute);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.salon.cache;
+
+import com.example.salon.exception.ResourceNotFoundException;
+import com.example.salon.model.Business;
+import com.example.salon.repository.BusinessRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BusinessDirectoryTest {
+
+    private BusinessRepository businessRepository;
+    private BusinessDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        businessRepository = mock(BusinessRepository.class);
+        when(businessRepository.findBySlug("missing")).thenReturn(Optional.empty());
+        directory = new BusinessDirectory(businessRepository, 60, 100);
+    }
+
+    @Test
+    void unknownSlugIsLookedUpOnce() {
+        assertThrows(ResourceNotFoundException.class, () -> directory.getBySlug("missing"));
+        assertThrows(ResourceNotFoundException.class, () -> directory.getBySlug("missing"));
+
+        verify(businessRepository, times(1)).findBySlug("missing");
+    }
+
+    @Test
+    void creatingTheBusinessClearsTheUnknownSlug() {
+        assertThrows(ResourceNotFoundException.class, () -> directory.getBySlug("missing"));
+
+        directory.onBusinessChanged(BusinessChangedEvent.saved(BusinessSnapshot.of(business("missing"))));
+
+        assertEquals("missing", directory.getBySlug("missing").getSlug());
+    }
+
+    @Test
+    void missRacingACreateIsNotRemembered() {
+        when(businessRepository.findBySlug("racing")).thenAnswer(invocation -> {
+            // The business is created while the lookup is still reading the old state
+            directory.onBusinessChanged(BusinessChangedEvent.saved(BusinessSnapshot.of(business("other"))));
+            return Optional.empty();
+        });
+        assertThrows(ResourceNotFoundException.class, () -> directory.getBySlug("racing"));
+
+        when(businessRepository.findBySlug("racing")).thenReturn(Optional.of(business("racing")));
+
+        assertEquals("racing", directory.getBySlug("racing").getSlug());
+    }
+
+    @Test
+    void zeroTtlDisablesNegativeCaching() {
+        directory = new BusinessDirectory(businessRepository, 0, 100);
+
+        assertThrows(ResourceNotFoundException.class, () -> directory.getBySlug("missing"));
+        assertThrows(ResourceNotFoundException.class, () -> directory.getBySlug("missing"));
+
+        verify(businessRepository, times(2)).findBySlug("missing");
+    }
+
+    private static Business business(String slug) {
+        return Business.builder()
+                .id((long) slug.hashCode())
+                .name("Salon " + slug)
+                .slug(slug)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.salon.cache;
+
+import com.example.salon.SalonFixtures;
+import com.example.salon.dto.BusinessHoursDto;
+import com.example.salon.dto.BusinessWithOwnerResponse;
+import com.example.salon.dto.ClosedDateDto;
+import com.example.salon.dto.ServiceRequest;
+import com.example.salon.dto.ServiceResponse;
+import com.example.salon.model.Service;
+import com.example.salon.service.BusinessHoursService;
+import com.example.salon.service.ServiceManagementService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reference data is served from the second-level and query caches on repeat reads, and writes
+ * through the services are visible on the next read.
+ */
+@SpringBootTest
+@Import(SalonFixtures.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private SalonFixtures fixtures;
+
+    @Autowired
+    private ServiceManagementService serviceManagementService;
+
+    @Autowired
+    private BusinessHoursService businessHoursService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BusinessWithOwnerResponse business;
+    private Statistics statistics;
+
+    @BeforeEach
+    void createBusiness() {
+        business = fixtures.createBusiness();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // ============================================
+    // SERVICES
+    // ============================================
+
+    @Test
+    void repeatServiceReadsDoNotHitTheDatabase() {
+        fixtures.addService(business.getBusinessId(), 30);
+
+        assertCachedOnRepeat(() -> serviceManagementService.getActiveServices(business.getBusinessSlug()));
+    }
+
+    @Test
+    void serviceUpdateIsVisibleOnTheNextRead() {
+        Service service = fixtures.addService(business.getBusinessId(), 30);
+        serviceManagementService.getActiveServices(business.getBusinessSlug());
+
+        serviceManagementService.updateService(business.getBusinessSlug(), service.getId(), ServiceRequest.builder()
+                .name("Renamed")
+                .durationMinutes(45)
+                .price(new BigDecimal("300.00"))
+                .build());
+
+        List<ServiceResponse> services = serviceManagementService.getActiveServices(business.getBusinessSlug());
+        assertEquals(1, services.size());
+        assertEquals("Renamed", services.get(0).getName());
+        assertEquals(45, services.get(0).getDurationMinutes());
+    }
+
+    @Test
+    void deletedServiceDisappearsOnTheNextRead() {
+        Service service = fixtures.addService(business.getBusinessId(), 30);
+        serviceManagementService.getActiveServices(business.getBusinessSlug());
+
+        serviceManagementService.deleteService(business.getBusinessSlug(), service.getId());
+
+        assertTrue(serviceManagementService.getActiveServices(business.getBusinessSlug()).isEmpty());
+    }
+
+    // ============================================
+    // BUSINESS HOURS AND CLOSED DATES
+    // ============================================
+
+    @Test
+    void repeatBusinessHoursReadsDoNotHitTheDatabase() {
+        assertCachedOnRepeat(() -> businessHoursService.getBusinessHours(business.getBusinessId()));
+    }
+
+    @Test
+    void businessHoursUpdateIsVisibleOnTheNextRead() {
+        businessHoursService.getBusinessHours(business.getBusinessId());
+
+        businessHoursService.updateBusinessHours(business.getBusinessId(), DayOfWeek.TUESDAY,
+                BusinessHoursDto.builder().isOpen(false).build());
+
+        BusinessHoursDto tuesday = businessHoursService.getBusinessHours(business.getBusinessId()).stream()
+                .filter(hours -> hours.getDayOfWeek() == DayOfWeek.TUESDAY)
+                .findFirst()
+                .orElseThrow();
+        assertFalse(tuesday.getIsOpen());
+    }
+
+    @Test
+    void repeatClosedDateReadsDoNotHitTheDatabase() {
+        businessHoursService.addClosedDate(business.getBusinessId(), closedDate(LocalDate.now().plusDays(10)));
+
+        assertCachedOnRepeat(() -> businessHoursService.getClosedDates(business.getBusinessId()));
+    }
+
+    @Test
+    void addedClosedDateIsVisibleOnTheNextRead() {
+        assertTrue(businessHoursService.getClosedDates(business.getBusinessId()).isEmpty());
+
+        LocalDate date = LocalDate.now().plusDays(10);
+        businessHoursService.addClosedDate(business.getBusinessId(), closedDate(date));
+
+        List<ClosedDateDto> closedDates = businessHoursService.getClosedDates(business.getBusinessId());
+        assertEquals(1, closedDates.size());
+        assertEquals(date, closedDates.get(0).getClosedDate());
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private void assertCachedOnRepeat(Supplier<List<?>> read) {
+        List<?> first = read.get();
+        assertFalse(first.isEmpty());
+
+        statistics.clear();
+        List<?> second = read.get();
+
+        assertEquals(first, second);
+        assertEquals(0, statistics.getPrepareStatementCount(), "statements");
+        assertTrue(statistics.getQueryCacheHitCount() > 0, "query cache hits");
+    }
+
+    private static ClosedDateDto closedDate(LocalDate date) {
+        return ClosedDateDto.builder()
+                .closedDate(date)
+                .reason("Holiday")
+                .build();
+    }
+}
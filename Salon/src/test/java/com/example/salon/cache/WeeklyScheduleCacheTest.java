@@ -0,0 +1,65 @@
+package com.example.salon.cache;
+
+import com.example.salon.calendar.CalendarSnapshotStore;
+import com.example.salon.config.ReplicaLagGuard;
+import com.example.salon.repository.BusinessHoursRepository;
+import com.example.salon.repository.ClosedDateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class WeeklyScheduleCacheTest {
+
+    private BusinessHoursRepository businessHoursRepository;
+    private ClosedDateRepository closedDateRepository;
+    private WeeklyScheduleCache cache;
+
+    @BeforeEach
+    void setUp() {
+        businessHoursRepository = mock(BusinessHoursRepository.class);
+        closedDateRepository = mock(ClosedDateRepository.class);
+        // Mocks return empty lists, no pinned businesses and no snapshot
+        cache = new WeeklyScheduleCache(businessHoursRepository, closedDateRepository,
+                mock(ReplicaLagGuard.class), mock(CalendarSnapshotStore.class), 2);
+    }
+
+    @Test
+    void onlyClosedDatesFromTodayOnAreLoaded() {
+        cache.get(1L);
+
+        verify(closedDateRepository).findByBusinessIdAndClosedDateGreaterThanEqual(1L, LocalDate.now());
+        verify(closedDateRepository, never()).findByBusinessIdOrderByClosedDate(anyLong());
+    }
+
+    @Test
+    void cachedScheduleIsNotReloaded() {
+        cache.get(1L);
+        cache.get(1L);
+
+        verify(businessHoursRepository, times(1)).findByBusinessIdOrderByDayOfWeek(1L);
+        assertEquals(1, cache.stats().getHits());
+    }
+
+    @Test
+    void missBeyondMaxEntriesEvictsAnotherBusiness() {
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+
+        assertEquals(2, cache.stats().getSize());
+        assertEquals(1, cache.stats().getEvictions());
+        assertTrue(cache.entries().containsKey(3L));
+
+        cache.get(3L);
+        verify(businessHoursRepository, times(1)).findByBusinessIdOrderByDayOfWeek(3L);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.salon.calendar;
+
+import com.example.salon.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class CalendarEngineTest {
+
+    private static final long BOOKING = 1L;
+    private static final long BUSINESS = 2L;
+    private static final long STAFF = 3L;
+    private static final LocalDateTime TEN = LocalDateTime.of(2026, 3, 10, 10, 0);
+
+    private CalendarEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        // No snapshot: the store mock returns null, and load() is not called
+        engine = new CalendarEngine(mock(BookingRepository.class), mock(CalendarSnapshotStore.class));
+    }
+
+    @Test
+    void changesAppliedInOrderAreKept() {
+        engine.onBookingChanged(occupied(TEN));
+        engine.onBookingChanged(occupied(TEN.plusHours(2)));
+
+        assertFalse(engine.conflicts(STAFF, TEN, TEN.plusHours(1)));
+        assertTrue(engine.conflicts(STAFF, TEN.plusHours(2), TEN.plusHours(3)));
+    }
+
+    @Test
+    void occupyArrivingAfterTheCancelIsDropped() {
+        engine.onBookingChanged(occupied(TEN));
+        BookingChangedEvent rescheduled = occupied(TEN.plusHours(2));
+        BookingChangedEvent cancelled = released(TEN.plusHours(2));
+
+        // The cancel committed after the reschedule but its listener ran first
+        engine.onBookingChanged(cancelled);
+        engine.onBookingChanged(rescheduled);
+
+        assertFalse(engine.conflicts(STAFF, TEN, TEN.plusHours(1)));
+        assertFalse(engine.conflicts(STAFF, TEN.plusHours(2), TEN.plusHours(3)));
+    }
+
+    @Test
+    void olderRescheduleArrivingLateIsDropped() {
+        engine.onBookingChanged(occupied(TEN));
+        BookingChangedEvent first = occupied(TEN.plusHours(2));
+        BookingChangedEvent second = occupied(TEN.plusHours(4));
+
+        engine.onBookingChanged(second);
+        engine.onBookingChanged(first);
+
+        assertFalse(engine.conflicts(STAFF, TEN.plusHours(2), TEN.plusHours(3)));
+        assertTrue(engine.conflicts(STAFF, TEN.plusHours(4), TEN.plusHours(5)));
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private static BookingChangedEvent occupied(LocalDateTime start) {
+        return BookingChangedEvent.occupied(BOOKING, BUSINESS, STAFF, start, start.plusHours(1));
+    }
+
+    private static BookingChangedEvent released(LocalDateTime start) {
+        return BookingChangedEvent.released(BOOKING, BUSINESS, STAFF, start, start.plusHours(1));
+    }
+}
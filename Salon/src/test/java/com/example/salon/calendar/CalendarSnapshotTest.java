@@ -0,0 +1,178 @@
+package com.example.salon.calendar;
+
+import com.example.salon.cache.WeeklySchedule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalendarSnapshotTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2026, 3, 10, 8, 30, 15);
+    // After the header (magic, version, watermark, calendar count, schedule count);
+    // each index entry is the key followed by the record offset
+    private static final int FIRST_INDEX_ENTRY = 4 + 4 + 8 + 4 + 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void calendarsAndSchedulesRoundTrip() throws IOException {
+        Path path = directory.resolve("calendar.snapshot");
+        StaffCalendar calendar = StaffCalendar.EMPTY.with(11, 600, 660).with(12, 720, 900);
+        WeeklySchedule schedule = schedule();
+
+        CalendarSnapshot.write(path, WATERMARK, Map.of(7L, calendar, 8L, StaffCalendar.EMPTY), Map.of(3L, schedule));
+        CalendarSnapshot snapshot = CalendarSnapshot.open(path);
+
+        assertEquals(WATERMARK, snapshot.watermark());
+        assertEquals(Set.of(7L, 8L), snapshot.calendarKeys());
+        assertEquals(Set.of(3L), snapshot.scheduleBusinessIds());
+
+        StaffCalendar restored = snapshot.takeCalendar(7L);
+        assertArrayEquals(calendar.ids, restored.ids);
+        assertArrayEquals(calendar.starts, restored.starts);
+        assertArrayEquals(calendar.ends, restored.ends);
+        assertEquals(calendar.maxLength, restored.maxLength);
+        assertEquals(0, snapshot.takeCalendar(8L).size());
+
+        WeeklySchedule restoredSchedule = snapshot.takeSchedule(3L);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            assertSameHours(schedule.hoursFor(day), restoredSchedule.hoursFor(day));
+        }
+        assertEquals(schedule.closedDates(), restoredSchedule.closedDates());
+    }
+
+    @Test
+    void eachEntryIsHandedOverOnce() throws IOException {
+        Path path = directory.resolve("calendar.snapshot");
+        CalendarSnapshot.write(path, WATERMARK, Map.of(7L, StaffCalendar.EMPTY.with(1, 0, 30)), Map.of(3L, schedule()));
+        CalendarSnapshot snapshot = CalendarSnapshot.open(path);
+        assertEquals(2, snapshot.remaining());
+
+        assertEquals(1, snapshot.takeCalendar(7L).size());
+        assertNull(snapshot.takeCalendar(7L));
+        assertTrue(snapshot.dropSchedule(3L));
+        assertNull(snapshot.takeSchedule(3L));
+        assertFalse(snapshot.dropSchedule(3L));
+        assertEquals(0, snapshot.remaining());
+    }
+
+    @Test
+    void unknownKeysAreNull() throws IOException {
+        Path path = directory.resolve("calendar.snapshot");
+        CalendarSnapshot.write(path, WATERMARK, Map.of(), Map.of());
+        CalendarSnapshot snapshot = CalendarSnapshot.open(path);
+
+        assertNull(snapshot.takeCalendar(7L));
+        assertNull(snapshot.takeSchedule(3L));
+        assertEquals(0, snapshot.remaining());
+    }
+
+    @Test
+    void rewriteReplacesThePreviousFile() throws IOException {
+        Path path = directory.resolve("calendar.snapshot");
+        CalendarSnapshot.write(path, WATERMARK, Map.of(7L, StaffCalendar.EMPTY.with(1, 0, 30)), Map.of());
+        CalendarSnapshot.write(path, WATERMARK.plusHours(1), Map.of(8L, StaffCalendar.EMPTY.with(2, 60, 90)), Map.of());
+
+        CalendarSnapshot snapshot = CalendarSnapshot.open(path);
+
+        assertEquals(WATERMARK.plusHours(1), snapshot.watermark());
+        assertEquals(Set.of(8L), snapshot.calendarKeys());
+        assertFalse(Files.exists(directory.resolve("calendar.snapshot.tmp")));
+    }
+
+    @Test
+    void indexPointingOutsideTheFileIsRejected() throws IOException {
+        Path path = directory.resolve("calendar.snapshot");
+        CalendarSnapshot.write(path, WATERMARK, Map.of(7L, StaffCalendar.EMPTY.with(1, 0, 30)), Map.of());
+
+        overwriteLong(path, FIRST_INDEX_ENTRY + 8, Files.size(path) + 100);
+
+        IOException ex = assertThrows(IOException.class, () -> CalendarSnapshot.open(path));
+        assertTrue(ex.getMessage().contains("Corrupt"));
+    }
+
+    @Test
+    void indexPointingIntoTheHeaderIsRejected() throws IOException {
+        Path path = directory.resolve("calendar.snapshot");
+        CalendarSnapshot.write(path, WATERMARK, Map.of(), Map.of(3L, schedule()));
+
+        overwriteLong(path, FIRST_INDEX_ENTRY + 8, 4);
+
+        assertThrows(IOException.class, () -> CalendarSnapshot.open(path));
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path empty = Files.write(directory.resolve("empty"), new byte[0]);
+        Path text = Files.writeString(directory.resolve("text"), "not a calendar snapshot at all");
+
+        assertThrows(IOException.class, () -> CalendarSnapshot.open(empty));
+        assertThrows(IOException.class, () -> CalendarSnapshot.open(text));
+    }
+
+    @Test
+    void otherVersionsAreRejected() throws IOException {
+        Path path = directory.resolve("calendar.snapshot");
+        CalendarSnapshot.write(path, WATERMARK, Map.of(), Map.of());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 1), 4);
+        }
+
+        assertThrows(IOException.class, () -> CalendarSnapshot.open(path));
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private static WeeklySchedule schedule() {
+        Map<DayOfWeek, WeeklySchedule.DayHours> days = new EnumMap<>(DayOfWeek.class);
+        days.put(DayOfWeek.MONDAY, new WeeklySchedule.DayHours(true,
+                LocalTime.of(9, 0), LocalTime.of(18, 0), LocalTime.of(12, 0), LocalTime.of(12, 30)));
+        days.put(DayOfWeek.TUESDAY, new WeeklySchedule.DayHours(true,
+                LocalTime.of(10, 15, 30), LocalTime.of(17, 0), null, null));
+        days.put(DayOfWeek.SUNDAY, new WeeklySchedule.DayHours(false, null, null, null, null));
+        return WeeklySchedule.of(days, List.of(LocalDate.of(2026, 12, 24), LocalDate.of(2026, 12, 25)));
+    }
+
+    private static void assertSameHours(WeeklySchedule.DayHours expected, WeeklySchedule.DayHours actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertEquals(expected.isOpen(), actual.isOpen());
+        assertEquals(expected.getOpenTime(), actual.getOpenTime());
+        assertEquals(expected.getCloseTime(), actual.getCloseTime());
+        assertEquals(expected.getBreakStartTime(), actual.getBreakStartTime());
+        assertEquals(expected.getBreakEndTime(), actual.getBreakEndTime());
+    }
+
+    private static void overwriteLong(Path path, long position, long value) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, value), position);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.salon.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StaffCalendarTest {
+
+    @Test
+    void emptyCalendarNeverOverlaps() {
+        assertEquals(0, StaffCalendar.EMPTY.size());
+        assertFalse(StaffCalendar.EMPTY.overlaps(Long.MIN_VALUE / 2, Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    void insertKeepsBookingsSortedByStart() {
+        StaffCalendar calendar = StaffCalendar.EMPTY
+                .with(1, 600, 660)
+                .with(2, 480, 540)
+                .with(3, 720, 780)
+                .with(4, 540, 600);
+
+        assertArrayEquals(new long[]{480, 540, 600, 720}, calendar.starts);
+        assertArrayEquals(new long[]{2, 4, 1, 3}, calendar.ids);
+        assertArrayEquals(new long[]{540, 600, 660, 780}, calendar.ends);
+    }
+
+    @Test
+    void insertingAnExistingIdMovesTheBooking() {
+        StaffCalendar calendar = StaffCalendar.EMPTY
+                .with(1, 600, 660)
+                .with(2, 720, 780)
+                .with(1, 900, 960);
+
+        assertEquals(2, calendar.size());
+        assertArrayEquals(new long[]{2, 1}, calendar.ids);
+        assertFalse(calendar.overlaps(600, 660));
+        assertTrue(calendar.overlaps(900, 960));
+    }
+
+    @Test
+    void updatesLeaveTheOriginalUntouched() {
+        StaffCalendar original = StaffCalendar.EMPTY.with(1, 600, 660);
+
+        original.with(2, 720, 780);
+        original.without(1);
+
+        assertEquals(1, original.size());
+        assertTrue(original.overlaps(600, 660));
+    }
+
+    @Test
+    void overlapIsHalfOpen() {
+        StaffCalendar calendar = StaffCalendar.EMPTY.with(1, 600, 660);
+
+        assertTrue(calendar.overlaps(600, 660));
+        assertTrue(calendar.overlaps(659, 700));
+        assertTrue(calendar.overlaps(500, 601));
+        assertTrue(calendar.overlaps(610, 620));
+        assertTrue(calendar.overlaps(500, 700));
+        assertFalse(calendar.overlaps(540, 600));
+        assertFalse(calendar.overlaps(660, 720));
+    }
+
+    @Test
+    void longBookingIsFoundFromFarBehind() {
+        // The long booking starts well before the short ones that follow it
+        StaffCalendar calendar = StaffCalendar.EMPTY
+                .with(1, 0, 1000)
+                .with(2, 100, 110)
+                .with(3, 200, 210);
+
+        assertTrue(calendar.overlaps(900, 950));
+        assertFalse(calendar.overlaps(1000, 1100));
+    }
+
+    @Test
+    void overlapCanIgnoreOneBooking() {
+        StaffCalendar calendar = StaffCalendar.EMPTY
+                .with(1, 600, 660)
+                .with(2, 660, 720);
+
+        assertFalse(calendar.overlapsExcept(600, 660, 1));
+        assertTrue(calendar.overlapsExcept(600, 661, 1));
+        assertTrue(calendar.overlapsExcept(600, 660, 2));
+    }
+
+    @Test
+    void releaseRemovesOnlyThatBooking() {
+        StaffCalendar calendar = StaffCalendar.EMPTY
+                .with(1, 600, 660)
+                .with(2, 720, 780)
+                .without(1);
+
+        assertArrayEquals(new long[]{2}, calendar.ids);
+        assertFalse(calendar.overlaps(600, 660));
+        assertTrue(calendar.overlaps(720, 780));
+    }
+
+    @Test
+    void releasingAnUnknownIdIsANoOp() {
+        StaffCalendar calendar = StaffCalendar.EMPTY.with(1, 600, 660);
+
+        assertSame(calendar, calendar.without(42));
+    }
+
+    @Test
+    void pruneDropsOnlyEndedBookingsAndShrinksTheLengthBound() {
+        StaffCalendar calendar = StaffCalendar.EMPTY
+                .with(1, 0, 500)
+                .with(2, 600, 660)
+                .with(3, 700, 760);
+
+        StaffCalendar pruned = calendar.endedBefore(600);
+
+        assertArrayEquals(new long[]{2, 3}, pruned.ids);
+        assertEquals(60, pruned.maxLength);
+        assertSame(pruned, pruned.endedBefore(600));
+    }
+
+    @Test
+    void lowerBoundFindsTheFirstStartAtOrAfter() {
+        StaffCalendar calendar = StaffCalendar.of(new long[]{1, 2, 3}, new long[]{100, 200, 200}, new long[]{150, 250, 260});
+
+        assertEquals(0, calendar.lowerBound(50));
+        assertEquals(1, calendar.lowerBound(200));
+        assertEquals(3, calendar.lowerBound(201));
+        assertEquals(60, calendar.maxLength);
+    }
+}
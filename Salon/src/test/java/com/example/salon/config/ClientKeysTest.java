@@ -0,0 +1,80 @@
+package com.example.salon.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientKeysTest {
+
+    private static final String FRONTEND = "172.28.0.10";
+    private static final String VISITOR = "0f8fad5bd9cb469fa16570867728950e";
+
+    private final ClientKeys clientKeys = new ClientKeys(List.of(FRONTEND, "10.1.0.0/16"));
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedUserWins() {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("owner", null, List.of()));
+
+        assertEquals("user:owner", clientKeys.of(request(FRONTEND, VISITOR, null)));
+    }
+
+    @Test
+    void visitorsBehindTheFrontendGetTheirOwnKeys() {
+        assertEquals("visitor:" + VISITOR, clientKeys.of(request(FRONTEND, VISITOR, null)));
+        assertEquals("visitor:another-visitor-0001", clientKeys.of(request(FRONTEND, "another-visitor-0001", null)));
+    }
+
+    @Test
+    void forwardedAddressIsUsedWithoutAVisitorId() {
+        assertEquals("addr:203.0.113.7", clientKeys.of(request(FRONTEND, null, "203.0.113.7")));
+        // Entries left of the first untrusted hop came from the client
+        assertEquals("addr:203.0.113.7", clientKeys.of(request(FRONTEND, null, "198.51.100.1, 203.0.113.7, 10.1.2.3")));
+        assertEquals("addr:" + FRONTEND, clientKeys.of(request(FRONTEND, null, null)));
+    }
+
+    @Test
+    void malformedVisitorIdIsIgnored() {
+        assertEquals("addr:" + FRONTEND, clientKeys.of(request(FRONTEND, "short", null)));
+        assertEquals("addr:" + FRONTEND, clientKeys.of(request(FRONTEND, "not a visitor id at all!", null)));
+    }
+
+    @Test
+    void headersFromUntrustedCallersAreIgnored() {
+        assertEquals("addr:198.51.100.9", clientKeys.of(request("198.51.100.9", VISITOR, "203.0.113.7")));
+    }
+
+    @Test
+    void withoutTrustedProxiesEveryCallerIsKeyedByAddress() {
+        ClientKeys direct = new ClientKeys(List.of());
+
+        assertEquals("addr:" + FRONTEND, direct.of(request(FRONTEND, VISITOR, "203.0.113.7")));
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private static MockHttpServletRequest request(String remoteAddr, String visitorId, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (visitorId != null) {
+            request.addHeader(ClientKeys.VISITOR_HEADER, visitorId);
+        }
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.salon.config;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, 0);
+
+    @Test
+    void permitIsReleasedWhenTheRequestReturns() throws Exception {
+        assertEquals(HttpServletResponse.SC_OK, run(new MockFilterChain()));
+        assertEquals(HttpServletResponse.SC_OK, run(new MockFilterChain()));
+    }
+
+    @Test
+    void permitIsReleasedWhenTheChainFails() throws Exception {
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), failing));
+
+        assertEquals(HttpServletResponse.SC_OK, run(new MockFilterChain()));
+    }
+
+    @Test
+    void asyncRequestHoldsItsPermitUntilComplete() throws Exception {
+        MockHttpServletRequest asyncRequest = new MockHttpServletRequest();
+        asyncRequest.setAsyncSupported(true);
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // The request thread has returned, but the response is still pending
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, run(new MockFilterChain()));
+
+        AsyncContext asyncContext = asyncRequest.getAsyncContext();
+        asyncContext.complete();
+
+        assertEquals(HttpServletResponse.SC_OK, run(new MockFilterChain()));
+    }
+
+    private int run(FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), response, chain);
+        return response.getStatus();
+    }
+}
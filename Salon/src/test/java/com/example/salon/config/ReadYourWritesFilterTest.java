@@ -0,0 +1,54 @@
+package com.example.salon.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadYourWritesFilterTest {
+
+    private static final String FRONTEND = "172.28.0.10";
+    private static final String VISITOR = "0f8fad5bd9cb469fa16570867728950e";
+
+    private final ReplicaLagGuard guard = new ReplicaLagGuard("jdbc:postgresql://replica:5432/salon", 5);
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(guard, new ClientKeys(List.of(FRONTEND)));
+
+    @Test
+    void visitorIsPinnedAfterAWrite() throws Exception {
+        filter.doFilter(request("POST", VISITOR), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertTrue(guard.isClientPinned("visitor:" + VISITOR));
+    }
+
+    @Test
+    void sharedAddressIsNeverPinned() throws Exception {
+        filter.doFilter(request("POST", null), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertFalse(guard.isClientPinned("addr:" + FRONTEND));
+    }
+
+    @Test
+    void readsDoNotPin() throws Exception {
+        filter.doFilter(request("GET", VISITOR), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertFalse(guard.isClientPinned("visitor:" + VISITOR));
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private static MockHttpServletRequest request(String method, String visitorId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/public/salon/bookings");
+        request.setRemoteAddr(FRONTEND);
+        if (visitorId != null) {
+            request.addHeader(ClientKeys.VISITOR_HEADER, visitorId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.salon.hold;
+
+import com.example.salon.exception.HoldLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotHoldStoreTest {
+
+    private static final long BUSINESS = 1L;
+    private static final long STAFF = 10L;
+    private static final long SERVICE = 100L;
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(7).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+    // Not started: expiry is not under test, holds stay until released
+    private final SlotHoldStore store = new SlotHoldStore(300, 2, 3);
+
+    @Test
+    void overlappingHoldOnTheSameStaffMemberIsRefused() {
+        assertTrue(place("addr:a", STAFF, 0).isPresent());
+
+        assertFalse(place("addr:b", STAFF, 0).isPresent());
+        assertTrue(place("addr:b", STAFF + 1, 0).isPresent());
+    }
+
+    @Test
+    void clientCannotExceedItsHoldLimit() {
+        place("addr:a", STAFF, 0);
+        place("addr:a", STAFF, 60);
+
+        assertThrows(HoldLimitExceededException.class, () -> place("addr:a", STAFF, 120));
+        assertTrue(place("addr:b", STAFF, 120).isPresent());
+    }
+
+    @Test
+    void businessCannotExceedItsHoldLimit() {
+        place("addr:a", STAFF, 0);
+        place("addr:b", STAFF, 60);
+        place("addr:c", STAFF, 120);
+
+        assertThrows(HoldLimitExceededException.class, () -> place("addr:d", STAFF, 180));
+        // Other businesses are unaffected
+        assertTrue(store.place(BUSINESS + 1, STAFF, SERVICE, START, START.plusMinutes(30), "addr:d").isPresent());
+    }
+
+    @Test
+    void releasedHoldsFreeTheSlotAndTheLimits() {
+        SlotHold first = place("addr:a", STAFF, 0).orElseThrow();
+        SlotHold second = place("addr:a", STAFF, 60).orElseThrow();
+
+        store.release(first.getToken());
+        store.release(second.getToken());
+
+        assertFalse(store.find(first.getToken()).isPresent());
+        assertFalse(store.isHeld(BUSINESS, STAFF, START, START.plusMinutes(30), null));
+        assertTrue(store.findActive(BUSINESS, START.toLocalDate()).isEmpty());
+        assertTrue(place("addr:a", STAFF, 0).isPresent());
+        assertTrue(place("addr:a", STAFF, 60).isPresent());
+    }
+
+    @Test
+    void holdRecordsTheClientThatPlacedIt() {
+        SlotHold hold = place("addr:a", STAFF, 0).orElseThrow();
+
+        assertEquals("addr:a", store.find(hold.getToken()).orElseThrow().getClientKey());
+        assertTrue(store.isHeld(BUSINESS, STAFF, START, START.plusMinutes(30), null));
+        assertFalse(store.isHeld(BUSINESS, STAFF, START, START.plusMinutes(30), hold.getToken()));
+    }
+
+    private Optional<SlotHold> place(String clientKey, long staffId, int offsetMinutes) {
+        LocalDateTime start = START.plusMinutes(offsetMinutes);
+        return store.place(BUSINESS, staffId, SERVICE, start, start.plusMinutes(30), clientKey);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.salon.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that the hot repository queries are planned as index scans once the tables hold a
+ * realistic number of businesses. The SQL mirrors what Hibernate generates for each repository
+ * method. Everything runs in one transaction that is rolled back, including the seed data and
+ * the ANALYZE statistics.
+ */
+@SpringBootTest
+@Transactional
+class QueryPlanTest {
+
+    private static final int BUSINESSES = 500;
+    private static final int BOOKINGS_PER_BUSINESS = 40;
+    private static final int CLOSED_DATES_PER_BUSINESS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long businessId;
+    private long staffId;
+
+    @BeforeEach
+    void seed() {
+        String prefix = "plan-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+
+        jdbcTemplate.update("INSERT INTO businesses (name, slug, active, created_at) " +
+                "SELECT 'Plan ' || g, ? || g, TRUE, NOW() FROM generate_series(1, ?) g", prefix, BUSINESSES);
+        jdbcTemplate.update("INSERT INTO services (business_id, name, duration_minutes, price, active, created_at) " +
+                "SELECT id, 'Cut', 30, 250.00, TRUE, NOW() FROM businesses WHERE slug LIKE ?", prefix + "%");
+        jdbcTemplate.update("INSERT INTO staff (business_id, name, active, created_at) " +
+                "SELECT id, 'Chair 1', TRUE, NOW() FROM businesses WHERE slug LIKE ?", prefix + "%");
+        jdbcTemplate.update("INSERT INTO bookings (business_id, service_id, staff_id, start_time, end_time, " +
+                "customer_name, customer_phone, status, created_at) " +
+                "SELECT b.id, sv.id, st.id, " +
+                "TIMESTAMP '2030-01-01 09:00' + g * INTERVAL '1 hour', " +
+                "TIMESTAMP '2030-01-01 09:30' + g * INTERVAL '1 hour', " +
+                "'Customer', '+45' || b.id, CASE WHEN g % 10 = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END, NOW() " +
+                "FROM businesses b JOIN services sv ON sv.business_id = b.id JOIN staff st ON st.business_id = b.id " +
+                "CROSS JOIN generate_series(1, ?) g WHERE b.slug LIKE ?", BOOKINGS_PER_BUSINESS, prefix + "%");
+        jdbcTemplate.update("INSERT INTO business_hours (business_id, day_of_week, is_open, open_time, close_time) " +
+                "SELECT b.id, d.day, TRUE, TIME '09:00', TIME '18:00' FROM businesses b " +
+                "CROSS JOIN unnest(ARRAY['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY']) AS d(day) " +
+                "WHERE b.slug LIKE ?", prefix + "%");
+        jdbcTemplate.update("INSERT INTO closed_dates (business_id, closed_date) " +
+                "SELECT b.id, DATE '2030-01-01' + g FROM businesses b CROSS JOIN generate_series(1, ?) g " +
+                "WHERE b.slug LIKE ?", CLOSED_DATES_PER_BUSINESS, prefix + "%");
+        jdbcTemplate.execute("ANALYZE bookings");
+        jdbcTemplate.execute("ANALYZE business_hours");
+        jdbcTemplate.execute("ANALYZE closed_dates");
+
+        businessId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM businesses WHERE slug LIKE ?", Long.class, prefix + "%");
+        staffId = jdbcTemplate.queryForObject(
+                "SELECT id FROM staff WHERE business_id = ?", Long.class, businessId);
+    }
+
+    // ============================================
+    // BookingRepository
+    // ============================================
+
+    @Test
+    void bookingsOfADayUseAnIndex() {
+        // findRowsByBusinessIdAndStartTimeBetween
+        assertNoSeqScan("SELECT b.id, b.start_time FROM bookings b " +
+                "JOIN services s ON s.id = b.service_id JOIN staff st ON st.id = b.staff_id " +
+                "WHERE b.business_id = " + businessId + " " +
+                "AND b.start_time BETWEEN TIMESTAMP '2030-01-02 00:00' AND TIMESTAMP '2030-01-03 00:00' " +
+                "ORDER BY b.start_time, b.id", "bookings");
+    }
+
+    @Test
+    void historyPageUsesAnIndex() {
+        // BookingRepositoryImpl.findHistoryPage with a cursor
+        assertNoSeqScan("SELECT b.id, b.start_time FROM bookings b " +
+                "WHERE b.business_id = " + businessId + " " +
+                "AND b.start_time <= TIMESTAMP '2030-01-02 12:00' " +
+                "AND (b.start_time < TIMESTAMP '2030-01-02 12:00' " +
+                "OR (b.start_time = TIMESTAMP '2030-01-02 12:00' AND b.id < 1000000)) " +
+                "ORDER BY b.start_time DESC, b.id DESC LIMIT 51", "bookings");
+    }
+
+    @Test
+    void customerBookingsUseAnIndex() {
+        // findRowsByCustomerPhone
+        assertNoSeqScan("SELECT b.id FROM bookings b WHERE b.customer_phone = '+45" + businessId + "' " +
+                "ORDER BY b.start_time, b.id", "bookings");
+    }
+
+    @Test
+    void busyStaffLookupUsesAnIndex() {
+        // findBusyStaffIds
+        assertNoSeqScan("SELECT DISTINCT b.staff_id FROM bookings b WHERE b.business_id = " + businessId + " " +
+                "AND b.status = 'CONFIRMED' " +
+                "AND b.start_time < TIMESTAMP '2030-01-02 11:00' AND b.end_time > TIMESTAMP '2030-01-02 10:00'", "bookings");
+    }
+
+    @Test
+    void staffOverlapCheckUsesAnIndex() {
+        // existsOtherOverlappingBooking
+        assertNoSeqScan("SELECT COUNT(b.id) > 0 FROM bookings b WHERE b.staff_id = " + staffId + " " +
+                "AND b.id <> 0 AND b.status = 'CONFIRMED' " +
+                "AND b.start_time < TIMESTAMP '2030-01-02 11:00' AND b.end_time > TIMESTAMP '2030-01-02 10:00'", "bookings");
+    }
+
+    // ============================================
+    // BusinessHoursRepository / ClosedDateRepository
+    // ============================================
+
+    @Test
+    void businessHoursForADayUseAnIndex() {
+        // findByBusinessIdAndDayOfWeek
+        assertNoSeqScan("SELECT h.id FROM business_hours h WHERE h.business_id = " + businessId + " " +
+                "AND h.day_of_week = 'TUESDAY'", "business_hours");
+    }
+
+    @Test
+    void weekOfBusinessHoursUsesAnIndex() {
+        // findByBusinessIdOrderByDayOfWeek
+        assertNoSeqScan("SELECT h.id FROM business_hours h WHERE h.business_id = " + businessId + " " +
+                "ORDER BY h.day_of_week", "business_hours");
+    }
+
+    @Test
+    void closedDateLookupUsesAnIndex() {
+        // findByBusinessIdAndClosedDate
+        assertNoSeqScan("SELECT c.id FROM closed_dates c WHERE c.business_id = " + businessId + " " +
+                "AND c.closed_date = DATE '2030-01-05'", "closed_dates");
+    }
+
+    @Test
+    void closedDateRangeUsesAnIndex() {
+        // findByBusinessIdAndClosedDateBetween
+        assertNoSeqScan("SELECT c.id FROM closed_dates c WHERE c.business_id = " + businessId + " " +
+                "AND c.closed_date BETWEEN DATE '2030-01-01' AND DATE '2030-01-31'", "closed_dates");
+    }
+
+    private void assertNoSeqScan(String sql, String table) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+
+        assertFalse(plan.contains("Seq Scan on " + table), plan);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.salon.security;
+
+import com.example.salon.model.Business;
+import com.example.salon.model.User;
+import com.example.salon.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request, before and after the single-verify change.
+ * <ul>
+ *   <li>legacyValidateThenParse: the old path, deriving the key and building a parser for
+ *   validateToken() and again for getClaimsFromToken()</li>
+ *   <li>verifyUncached: one verify() with the prebuilt parser and the token cache disabled</li>
+ *   <li>verifyCached: one verify() answered from the token cache</li>
+ *   <li>filterCached: the whole JwtAuthenticationFilter for a token with role claims</li>
+ * </ul>
+ * Not part of the test run; start it from {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = provider(10_000);
+        uncachedProvider = provider(0);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findActiveById(Mockito.anyLong())).thenReturn(Optional.of(true));
+        filter = new JwtAuthenticationFilter(cachedProvider, userRepository, new UserStatusCache(userRepository, 60, 10_000));
+
+        User user = User.builder()
+                .id(1L)
+                .username("owner")
+                .role(User.Role.BUSINESS_OWNER)
+                .business(Business.builder().id(1L).build())
+                .build();
+        token = cachedProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims legacyValidateThenParse() {
+        Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return uncachedProvider.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cachedProvider.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public Object filterCached() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static SecretKey legacyKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JwtTokenProvider provider(int cacheEntries) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(provider, "tokenCacheMaxEntries", cacheEntries);
+        ReflectionTestUtils.setField(provider, "tokenCacheTtlSeconds", 30L);
+        provider.init();
+        return provider;
+    }
+}
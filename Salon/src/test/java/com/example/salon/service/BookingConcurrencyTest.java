@@ -0,0 +1,324 @@
+package com.example.salon.service;
+
+import com.example.salon.SalonFixtures;
+import com.example.salon.calendar.CalendarEngine;
+import com.example.salon.dto.BookingRequest;
+import com.example.salon.dto.BookingResponse;
+import com.example.salon.dto.BusinessWithOwnerResponse;
+import com.example.salon.dto.RescheduleRequest;
+import com.example.salon.exception.BookingConflictException;
+import com.example.salon.exception.InvalidRequestException;
+import com.example.salon.model.Booking;
+import com.example.salon.model.Service;
+import com.example.salon.model.User;
+import com.example.salon.repository.BookingRepository;
+import com.example.salon.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test for the per-business booking lock: concurrent requests for one slot produce
+ * exactly one booking, a business holding its lock never blocks another business, and a
+ * cancel or complete racing a reschedule always wins with nothing left occupied.
+ */
+@SpringBootTest
+@Import(SalonFixtures.class)
+class BookingConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int RACE_ROUNDS = 20;
+    private static final String CLIENT = "addr:127.0.0.1";
+
+    @Autowired
+    private SalonFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BusinessOwnerService businessOwnerService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CalendarEngine calendarEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentRequestsForOneSlotCreateExactlyOneBooking() throws Exception {
+        BusinessWithOwnerResponse business = fixtures.createBusiness();
+        Service service = fixtures.addService(business.getBusinessId(), 60);
+        LocalDateTime start = SalonFixtures.nextWeekdayAt(10, 0);
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        runConcurrently(THREADS, i -> {
+            try {
+                bookingService.createBooking(business.getBusinessSlug(), request(service, start, i), null, CLIENT);
+                created.incrementAndGet();
+            } catch (BookingConflictException ex) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, created.get());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(1, confirmedBookings(business.getBusinessId(), start));
+    }
+
+    @Test
+    void differentBusinessesBookInParallel() throws Exception {
+        List<BusinessWithOwnerResponse> businesses = new ArrayList<>();
+        List<Service> services = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            BusinessWithOwnerResponse business = fixtures.createBusiness();
+            businesses.add(business);
+            services.add(fixtures.addService(business.getBusinessId(), 60));
+        }
+        LocalDateTime start = SalonFixtures.nextWeekdayAt(11, 0);
+
+        AtomicInteger created = new AtomicInteger();
+        runConcurrently(THREADS, i -> {
+            bookingService.createBooking(businesses.get(i).getBusinessSlug(), request(services.get(i), start, i), null, CLIENT);
+            created.incrementAndGet();
+        });
+
+        assertEquals(THREADS, created.get());
+    }
+
+    @Test
+    void heldLockDoesNotBlockAnotherBusiness() throws Exception {
+        BusinessWithOwnerResponse locked = fixtures.createBusiness();
+        BusinessWithOwnerResponse other = fixtures.createBusiness();
+        Service service = fixtures.addService(other.getBusinessId(), 60);
+        LocalDateTime start = SalonFixtures.nextWeekdayAt(12, 0);
+
+        CountDownLatch lockTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bookingRepository.lockBusinessForBooking(locked.getBusinessId());
+                lockTaken.countDown();
+                await(release);
+            }));
+            assertTrue(lockTaken.await(10, TimeUnit.SECONDS));
+
+            long startedAt = System.nanoTime();
+            bookingService.createBooking(other.getBusinessSlug(), request(service, start, 0), null, CLIENT);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            assertTrue(elapsedMillis < 5_000, "booking waited " + elapsedMillis + " ms on another business's lock");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancelCommittedWhileRescheduleWaitsIsNotOverwritten() throws Exception {
+        assertStatusChangeWhileRescheduleWaitsWins(Booking.BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void completeCommittedWhileRescheduleWaitsIsNotOverwritten() throws Exception {
+        assertStatusChangeWhileRescheduleWaitsWins(Booking.BookingStatus.COMPLETED);
+    }
+
+    @Test
+    void rescheduleRacingCancelOrCompleteNeverLosesTheStatusChange() throws Exception {
+        for (int round = 0; round < RACE_ROUNDS; round++) {
+            Booking.BookingStatus target = round % 2 == 0 ? Booking.BookingStatus.CANCELLED : Booking.BookingStatus.COMPLETED;
+            BusinessWithOwnerResponse business = fixtures.createBusiness();
+            AuthenticatedUser owner = owner(business);
+            Service service = fixtures.addService(business.getBusinessId(), 60);
+            LocalDateTime start = SalonFixtures.nextWeekdayAt(9, 0);
+            LocalDateTime newStart = start.plusHours(3);
+            BookingResponse booking = bookingService.createBooking(business.getBusinessSlug(), request(service, start, round), null, CLIENT);
+
+            runConcurrently(2, i -> {
+                if (i == 0) {
+                    changeStatus(owner, booking.getId(), target);
+                    return;
+                }
+                try {
+                    reschedule(owner, booking.getId(), newStart);
+                } catch (InvalidRequestException ex) {
+                    // The status change committed first
+                }
+            });
+
+            Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+            assertEquals(target, stored.getStatus(), "round " + round);
+            assertNothingOccupied(booking.getStaffId(), start, newStart);
+        }
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    /**
+     * Parks an owner reschedule on the business lock after its first read of the booking,
+     * commits the status change meanwhile, then lets the reschedule continue
+     */
+    private void assertStatusChangeWhileRescheduleWaitsWins(Booking.BookingStatus target) throws Exception {
+        BusinessWithOwnerResponse business = fixtures.createBusiness();
+        AuthenticatedUser owner = owner(business);
+        Service service = fixtures.addService(business.getBusinessId(), 60);
+        LocalDateTime start = SalonFixtures.nextWeekdayAt(9, 0);
+        LocalDateTime newStart = start.plusHours(3);
+        BookingResponse booking = bookingService.createBooking(business.getBusinessSlug(), request(service, start, 0), null, CLIENT);
+
+        CountDownLatch lockTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> holder = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bookingRepository.lockBusinessForBooking(business.getBusinessId());
+                lockTaken.countDown();
+                await(release);
+            }));
+            assertTrue(lockTaken.await(10, TimeUnit.SECONDS));
+
+            Future<?> rescheduled = executor.submit(() -> reschedule(owner, booking.getId(), newStart));
+            awaitAdvisoryLockWaiter();
+
+            changeStatus(owner, booking.getId(), target);
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> rescheduled.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(InvalidRequestException.class, ex.getCause());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(target, stored.getStatus());
+        assertEquals(start, stored.getStartTime());
+        assertNothingOccupied(booking.getStaffId(), start, newStart);
+    }
+
+    private static AuthenticatedUser owner(BusinessWithOwnerResponse business) {
+        return new AuthenticatedUser(null, business.getOwnerUsername(), User.Role.BUSINESS_OWNER, business.getBusinessId());
+    }
+
+    private BookingResponse reschedule(AuthenticatedUser owner, Long bookingId, LocalDateTime startTime) {
+        return businessOwnerService.rescheduleBooking(owner, bookingId, RescheduleRequest.builder().startTime(startTime).build());
+    }
+
+    private void changeStatus(AuthenticatedUser owner, Long bookingId, Booking.BookingStatus target) {
+        if (target == Booking.BookingStatus.COMPLETED) {
+            businessOwnerService.completeBooking(owner, bookingId);
+        } else {
+            businessOwnerService.cancelBooking(owner, bookingId);
+        }
+    }
+
+    private interface Task {
+        void run(int index) throws Exception;
+    }
+
+    /**
+     * Starts all tasks at once and fails on the first unexpected exception
+     */
+    private static void runConcurrently(int threads, Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until some transaction is queued on an advisory lock
+     */
+    private void awaitAdvisoryLockWaiter() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted", Long.class) == 0) {
+            assertTrue(System.nanoTime() < deadline, "nothing waited on the business lock");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Neither the old nor the new one-hour range is still occupied in the resident calendar
+     */
+    private void assertNothingOccupied(Long staffId, LocalDateTime start, LocalDateTime newStart) {
+        assertFalse(calendarEngine.conflicts(staffId, start, start.plusHours(1)));
+        assertFalse(calendarEngine.conflicts(staffId, newStart, newStart.plusHours(1)));
+    }
+
+    private long confirmedBookings(Long businessId, LocalDateTime start) {
+        return bookingRepository.findRowsByBusinessIdAndStartTimeBetween(businessId, start, start.plusMinutes(1)).stream()
+                .filter(row -> row.getStatus() == Booking.BookingStatus.CONFIRMED)
+                .count();
+    }
+
+    private static BookingRequest request(Service service, LocalDateTime start, int customer) {
+        return BookingRequest.builder()
+                .serviceId(service.getId())
+                .startTime(start)
+                .customerName("Customer " + customer)
+                .customerPhone("4512345" + String.format("%03d", customer))
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.salon.service;
+
+import com.example.salon.SalonFixtures;
+import com.example.salon.dto.BookingRequest;
+import com.example.salon.dto.BookingResponse;
+import com.example.salon.dto.BusinessWithOwnerResponse;
+import com.example.salon.model.Service;
+import com.example.salon.model.User;
+import com.example.salon.security.AuthenticatedUser;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Booking lists are read through service-joined projections: one statement per list however
+ * many bookings and services it covers, and no entities loaded.
+ */
+@SpringBootTest
+@Import(SalonFixtures.class)
+class BookingListQueryCountTest {
+
+    private static final int SERVICES = 3;
+    private static final int BOOKINGS = 6;
+
+    @Autowired
+    private SalonFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BusinessOwnerService businessOwnerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BusinessWithOwnerResponse business;
+    private AuthenticatedUser owner;
+    private LocalDateTime day;
+    private String phone;
+
+    @BeforeEach
+    void createBookings() {
+        business = fixtures.createBusiness();
+        owner = new AuthenticatedUser(null, business.getOwnerUsername(), User.Role.BUSINESS_OWNER, business.getBusinessId());
+        day = SalonFixtures.nextWeekdayAt(0, 0);
+        phone = "+45" + ThreadLocalRandom.current().nextLong(10_000_000L, 100_000_000L);
+
+        List<Service> services = new ArrayList<>();
+        for (int i = 0; i < SERVICES; i++) {
+            services.add(fixtures.addService(business.getBusinessId(), 30));
+        }
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookingService.createBooking(business.getBusinessSlug(), BookingRequest.builder()
+                    .serviceId(services.get(i % SERVICES).getId())
+                    .startTime(day.withHour(9).plusMinutes(30L * i))
+                    .customerName("Customer " + i)
+                    .customerPhone(phone)
+                    .build(), null, "addr:127.0.0.1");
+        }
+    }
+
+    @Test
+    void publicDayListIsOneQuery() {
+        // Resolve the slug once, so only the list query is counted
+        bookingService.getBookingsByDate(business.getBusinessSlug(), day);
+
+        assertSingleQuery(() -> bookingService.getBookingsByDate(business.getBusinessSlug(), day));
+    }
+
+    @Test
+    void customerListIsOneQuery() {
+        assertSingleQuery(() -> bookingService.getCustomerBookings(phone));
+    }
+
+    @Test
+    void ownerDayListIsOneQuery() {
+        assertSingleQuery(() -> businessOwnerService.getMyBookingsByDate(owner, day.toLocalDate()));
+    }
+
+    @Test
+    void ownerHistoryPageIsOneQuery() {
+        assertSingleQuery(() -> businessOwnerService.getMyBookingHistory(owner, null, null, null, null, 50).getBookings());
+    }
+
+    private void assertSingleQuery(Supplier<List<BookingResponse>> list) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingResponse> bookings = list.get();
+
+        assertEquals(BOOKINGS, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount(), "statements");
+        assertEquals(0, statistics.getEntityLoadCount(), "entities loaded");
+    }
+}
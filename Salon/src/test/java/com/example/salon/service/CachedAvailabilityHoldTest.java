@@ -0,0 +1,96 @@
+package com.example.salon.service;
+
+import com.example.salon.SalonFixtures;
+import com.example.salon.cache.AvailabilityCache;
+import com.example.salon.dto.AvailableTimeSlot;
+import com.example.salon.dto.AvailableTimesResponse;
+import com.example.salon.dto.BusinessHoursDto;
+import com.example.salon.dto.BusinessWithOwnerResponse;
+import com.example.salon.hold.SlotHoldStore;
+import com.example.salon.model.Service;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Today's slots served from the availability cache still go through the hold filter, which
+ * needs the free staff of every slot to survive the masking of past slots.
+ */
+@SpringBootTest
+@Import(SalonFixtures.class)
+class CachedAvailabilityHoldTest {
+
+    private static final String OTHER_CLIENT = "addr:10.0.0.2";
+
+    @Autowired
+    private SalonFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BusinessHoursService businessHoursService;
+
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    @Autowired
+    private SlotHoldStore slotHoldStore;
+
+    @Test
+    void cachedSameDaySlotsHideHeldStaff() throws Exception {
+        BusinessWithOwnerResponse business = fixtures.createBusiness();
+        Service service = fixtures.addService(business.getBusinessId(), 30);
+        Long staffId = fixtures.firstStaffId(business.getBusinessId());
+        LocalDate today = LocalDate.now();
+        // Open all day so today has slots whenever the test runs
+        businessHoursService.updateBusinessHours(business.getBusinessId(), today.getDayOfWeek(), BusinessHoursDto.builder()
+                .isOpen(true)
+                .openTime(LocalTime.MIDNIGHT)
+                .closeTime(LocalTime.of(23, 30))
+                .build());
+
+        // Fills the cache
+        availableTimes(business, service, today);
+
+        LocalDateTime heldStart = today.atTime(23, 0);
+        assertTrue(slotHoldStore.place(business.getBusinessId(), staffId, service.getId(),
+                heldStart, heldStart.plusMinutes(30), OTHER_CLIENT).isPresent());
+
+        long hitsBefore = availabilityCache.stats().getHits();
+        AvailableTimesResponse cached = availableTimes(business, service, today);
+        assertEquals(hitsBefore + 1, availabilityCache.stats().getHits());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (AvailableTimeSlot slot : cached.getTimeSlots()) {
+            if (slot.getStartTime().isBefore(now)) {
+                assertFalse(slot.isAvailable());
+                assertTrue(slot.getAvailableStaffIds().isEmpty());
+            }
+            if (slot.getStartTime().equals(heldStart)) {
+                assertFalse(slot.isAvailable());
+                assertFalse(slot.getAvailableStaffIds().contains(staffId));
+            }
+        }
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private AvailableTimesResponse availableTimes(BusinessWithOwnerResponse business, Service service, LocalDate date)
+            throws Exception {
+        return bookingService.getAvailableTimeSlotsAsync(business.getBusinessSlug(), date, service.getId())
+                .get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.salon.service;
+
+import com.example.salon.SalonFixtures;
+import com.example.salon.calendar.CalendarEngine;
+import com.example.salon.dto.BookingRequest;
+import com.example.salon.dto.BookingResponse;
+import com.example.salon.dto.BusinessWithOwnerResponse;
+import com.example.salon.exception.BookingConflictException;
+import com.example.salon.model.Service;
+import com.example.salon.model.User;
+import com.example.salon.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A booking marked COMPLETED stops occupying its staff member, so the rest of its slot can be
+ * booked again; a CONFIRMED one keeps blocking it. Every fixture business has one staff member.
+ */
+@SpringBootTest
+@Import(SalonFixtures.class)
+class CompletedBookingTest {
+
+    private static final String CLIENT = "addr:127.0.0.1";
+
+    @Autowired
+    private SalonFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BusinessOwnerService businessOwnerService;
+
+    @Autowired
+    private CalendarEngine calendarEngine;
+
+    @Test
+    void completingABookingEarlyFreesTheRestOfItsTime() {
+        BusinessWithOwnerResponse business = fixtures.createBusiness();
+        Service service = fixtures.addService(business.getBusinessId(), 60);
+        LocalDateTime start = SalonFixtures.nextWeekdayAt(10, 0);
+        LocalDateTime rest = start.plusMinutes(30);
+        BookingResponse booking = bookingService.createBooking(business.getBusinessSlug(), request(service, start, 0), null, CLIENT);
+
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.createBooking(business.getBusinessSlug(), request(service, rest, 1), null, CLIENT));
+        assertTrue(calendarEngine.conflicts(booking.getStaffId(), rest, rest.plusMinutes(30)));
+
+        businessOwnerService.completeBooking(owner(business), booking.getId());
+
+        assertFalse(calendarEngine.conflicts(booking.getStaffId(), rest, rest.plusMinutes(30)));
+        BookingResponse next = bookingService.createBooking(business.getBusinessSlug(), request(service, rest, 2), null, CLIENT);
+        assertEquals(booking.getStaffId(), next.getStaffId());
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private static AuthenticatedUser owner(BusinessWithOwnerResponse business) {
+        return new AuthenticatedUser(null, business.getOwnerUsername(), User.Role.BUSINESS_OWNER, business.getBusinessId());
+    }
+
+    private static BookingRequest request(Service service, LocalDateTime start, int customer) {
+        return BookingRequest.builder()
+                .serviceId(service.getId())
+                .startTime(start)
+                .customerName("Customer " + customer)
+                .customerPhone("4598765" + String.format("%03d", customer))
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.salon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DayOccupancyTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 10);
+    // Arbitrary absolute minute for the start of DATE
+    private static final long DAY_START = 29_000_000L;
+    private static final int DAY = DayOccupancy.MINUTES_PER_DAY;
+
+    @Test
+    void emptyDayIsFree() {
+        DayOccupancy occupancy = occupancy(new int[0][], null, null);
+
+        assertFalse(occupancy.isOccupied(0, DAY));
+        assertFalse(occupancy.startsDuringBreak(12 * 60));
+    }
+
+    @Test
+    void bookingRangesAreHalfOpen() {
+        DayOccupancy occupancy = occupancy(new int[][]{{600, 660}}, null, null);
+
+        assertTrue(occupancy.isOccupied(600, 660));
+        assertTrue(occupancy.isOccupied(659, 661));
+        assertTrue(occupancy.isOccupied(540, 601));
+        assertFalse(occupancy.isOccupied(540, 600));
+        assertFalse(occupancy.isOccupied(660, 720));
+    }
+
+    @Test
+    void emptyOrInvertedRangeIsNeverOccupied() {
+        DayOccupancy occupancy = occupancy(new int[][]{{600, 660}}, null, null);
+
+        assertFalse(occupancy.isOccupied(630, 630));
+        assertFalse(occupancy.isOccupied(660, 600));
+    }
+
+    @Test
+    void overlappingBookingsReleaseOnlyAfterTheLastEnds() {
+        DayOccupancy occupancy = occupancy(new int[][]{{600, 660}, {630, 720}}, null, null);
+
+        assertTrue(occupancy.isOccupied(690, 700));
+        assertFalse(occupancy.isOccupied(720, 780));
+    }
+
+    @Test
+    void bookingFromPreviousDayOccupiesEarlyMorning() {
+        // 23:00 the day before until 01:00
+        DayOccupancy occupancy = occupancy(new int[][]{{-60, 60}}, null, null);
+
+        assertTrue(occupancy.isOccupied(0, 30));
+        assertTrue(occupancy.isOccupied(59, 60));
+        assertFalse(occupancy.isOccupied(60, 120));
+    }
+
+    @Test
+    void lateBookingRunsPastMidnight() {
+        // 23:30 until 00:30 the next day
+        DayOccupancy occupancy = occupancy(new int[][]{{DAY - 30, DAY + 30}}, null, null);
+
+        assertTrue(occupancy.isOccupied(DAY - 60, DAY - 29));
+        assertTrue(occupancy.isOccupied(DAY, DAY + 30));
+        assertFalse(occupancy.isOccupied(DAY + 30, DAY + 60));
+        assertFalse(occupancy.isOccupied(DAY - 90, DAY - 30));
+    }
+
+    @Test
+    void rangesBeyondTheHorizonAreClamped() {
+        DayOccupancy occupancy = occupancy(new int[][]{{-5 * DAY, -4 * DAY}, {5 * DAY, 6 * DAY}}, null, null);
+
+        assertFalse(occupancy.isOccupied(-DAY, 3 * DAY));
+    }
+
+    @Test
+    void onlyTheSelectedIntervalsAreApplied() {
+        long[] starts = {DAY_START + 60, DAY_START + 600, DAY_START + 900};
+        long[] ends = {DAY_START + 120, DAY_START + 660, DAY_START + 960};
+        DayOccupancy occupancy = DayOccupancy.ofIntervals(DATE, DAY_START, starts, ends, 1, 2, null, null);
+
+        assertFalse(occupancy.isOccupied(60, 120));
+        assertTrue(occupancy.isOccupied(600, 660));
+        assertFalse(occupancy.isOccupied(900, 960));
+    }
+
+    @Test
+    void slotsStartingInsideTheBreakAreFlagged() {
+        DayOccupancy occupancy = occupancy(new int[0][], LocalTime.of(12, 0), LocalTime.of(13, 0));
+
+        assertFalse(occupancy.startsDuringBreak(719));
+        assertTrue(occupancy.startsDuringBreak(720));
+        assertTrue(occupancy.startsDuringBreak(779));
+        assertFalse(occupancy.startsDuringBreak(780));
+        // The break does not count as a booking
+        assertFalse(occupancy.isOccupied(720, 780));
+    }
+
+    @Test
+    void breakChecksOutsideTheDayAreFalse() {
+        DayOccupancy occupancy = occupancy(new int[0][], LocalTime.MIDNIGHT, LocalTime.of(1, 0));
+
+        assertTrue(occupancy.startsDuringBreak(0));
+        assertFalse(occupancy.startsDuringBreak(-1));
+        assertFalse(occupancy.startsDuringBreak(DAY));
+    }
+
+    @Test
+    void missingOrInvertedBreakIsIgnored() {
+        assertFalse(occupancy(new int[0][], LocalTime.of(12, 0), null).startsDuringBreak(720));
+        assertFalse(occupancy(new int[0][], LocalTime.of(13, 0), LocalTime.of(12, 0)).startsDuringBreak(750));
+    }
+
+    private static DayOccupancy occupancy(int[][] minuteRanges, LocalTime breakStart, LocalTime breakEnd) {
+        long[] starts = new long[minuteRanges.length];
+        long[] ends = new long[minuteRanges.length];
+        for (int i = 0; i < minuteRanges.length; i++) {
+            starts[i] = DAY_START + minuteRanges[i][0];
+            ends[i] = DAY_START + minuteRanges[i][1];
+        }
+        return DayOccupancy.ofIntervals(DATE, DAY_START, starts, ends, 0, minuteRanges.length, breakStart, breakEnd);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.salon.service;
+
+import com.example.salon.dto.AvailableTimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotGridTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 10);
+    // Arbitrary absolute minute for the start of DATE
+    private static final long DAY_START = 29_000_000L;
+    private static final int NINE = 9 * 60;
+    private static final int NOON = 12 * 60;
+    private static final int FIVE_PM = 17 * 60;
+    private static final UnaryOperator<AvailableTimeSlot> UNFILTERED = UnaryOperator.identity();
+
+    @Test
+    void lastSlotEndsByClosingTime() {
+        assertEquals(5, grid(NINE, NOON, 60, 0, List.of(1L), List.of(free())).size());
+        assertEquals(1, grid(NINE, NINE + 60, 60, 0, List.of(1L), List.of(free())).size());
+        assertEquals(0, grid(NINE, NINE + 59, 60, 0, List.of(1L), List.of(free())).size());
+    }
+
+    @Test
+    void indexRoundsUpToTheNextSlot() {
+        SlotGrid grid = grid(NINE, NOON, 60, 0, List.of(1L), List.of(free()));
+
+        assertEquals(0, grid.indexAtOrAfter(at(8, 0)));
+        assertEquals(0, grid.indexAtOrAfter(at(9, 0)));
+        assertEquals(1, grid.indexAtOrAfter(at(9, 1)));
+        assertEquals(2, grid.indexAtOrAfter(at(9, 30).plusSeconds(1)));
+        assertEquals(4, grid.indexAtOrAfter(at(11, 0)));
+        assertEquals(5, grid.indexAtOrAfter(at(11, 1)));
+        assertEquals(5, grid.indexAtOrAfter(at(20, 0)));
+    }
+
+    @Test
+    void slotListsFreeStaffInOrder() {
+        // Staff 2 is booked 10:00-11:00
+        SlotGrid grid = grid(NINE, NOON, 60, 0, List.of(3L, 2L, 1L),
+                List.of(free(), occupancy(new int[][]{{600, 660}}, null, null), free()));
+
+        AvailableTimeSlot first = grid.slot(0);
+        assertEquals(at(9, 0), first.getStartTime());
+        assertEquals(at(10, 0), first.getEndTime());
+        assertEquals(List.of(3L, 2L, 1L), first.getAvailableStaffIds());
+
+        AvailableTimeSlot overlapping = grid.slot(1);
+        assertTrue(overlapping.isAvailable());
+        assertEquals(List.of(3L, 1L), overlapping.getAvailableStaffIds());
+    }
+
+    @Test
+    void slotIsUnavailableWhenNobodyIsFree() {
+        SlotGrid grid = grid(NINE, NOON, 60, 0, List.of(1L), List.of(occupancy(new int[][]{{600, 660}}, null, null)));
+
+        assertFalse(grid.slot(2).isAvailable());
+        assertTrue(grid.slot(2).getAvailableStaffIds().isEmpty());
+        assertTrue(grid.slot(4).isAvailable());
+    }
+
+    @Test
+    void slotsStartingInTheBreakHaveNoFreeStaff() {
+        SlotGrid grid = grid(NINE, FIVE_PM, 30, 0, List.of(1L),
+                List.of(occupancy(new int[0][], LocalTime.of(12, 0), LocalTime.of(13, 0))));
+
+        assertTrue(grid.slot(grid.indexAtOrAfter(at(11, 30))).isAvailable());
+        assertFalse(grid.slot(grid.indexAtOrAfter(at(12, 0))).isAvailable());
+        assertFalse(grid.slot(grid.indexAtOrAfter(at(12, 30))).isAvailable());
+        assertTrue(grid.slot(grid.indexAtOrAfter(at(13, 0))).isAvailable());
+    }
+
+    @Test
+    void slotsBeforeTheFirstBookableMinuteHaveNoFreeStaff() {
+        SlotGrid grid = grid(NINE, NOON, 60, 10 * 60 + 15, List.of(1L), List.of(free()));
+
+        assertFalse(grid.slot(2).isAvailable());
+        assertTrue(grid.slot(2).getAvailableStaffIds().isEmpty());
+        assertTrue(grid.slot(3).isAvailable());
+    }
+
+    @Test
+    void nearestAlternativesComeFromBothSidesInTimeOrder() {
+        SlotGrid grid = grid(NINE, FIVE_PM, 30, 0, List.of(1L), List.of(free()));
+
+        assertEquals(List.of(at(10, 30), at(11, 0), at(11, 30), at(12, 30), at(13, 0), at(13, 30)),
+                startTimes(grid.nearestAvailable(at(12, 0), 3, UNFILTERED)));
+    }
+
+    @Test
+    void nearestAlternativesSkipTakenSlots() {
+        // Taken 11:00-12:00 and 12:30-13:30
+        SlotGrid grid = grid(NINE, FIVE_PM, 30, 0, List.of(1L),
+                List.of(occupancy(new int[][]{{660, NOON}, {750, 810}}, null, null)));
+
+        assertEquals(List.of(at(10, 0), at(10, 30), at(13, 30), at(14, 0)),
+                startTimes(grid.nearestAvailable(at(12, 0), 2, UNFILTERED)));
+    }
+
+    @Test
+    void oneSideKeepsSearchingWhenTheOtherRunsOut() {
+        SlotGrid grid = grid(NINE, FIVE_PM, 30, 0, List.of(1L), List.of(free()));
+
+        assertEquals(List.of(at(9, 0), at(10, 0), at(10, 30), at(11, 0)),
+                startTimes(grid.nearestAvailable(at(9, 30), 3, UNFILTERED)));
+        assertEquals(List.of(at(15, 30), at(16, 0), at(16, 30)),
+                startTimes(grid.nearestAvailable(at(20, 0), 3, UNFILTERED)));
+    }
+
+    @Test
+    void requestedTimeBetweenSlotsIsNotSkipped() {
+        SlotGrid grid = grid(NINE, FIVE_PM, 30, 0, List.of(1L), List.of(free()));
+
+        assertEquals(List.of(at(12, 0), at(12, 30)),
+                startTimes(grid.nearestAvailable(at(12, 10), 1, UNFILTERED)));
+    }
+
+    @Test
+    void filterIsAppliedBeforeAvailability() {
+        SlotGrid grid = grid(NINE, FIVE_PM, 30, 0, List.of(1L), List.of(free()));
+        // Pretend 11:30 and 12:30 are held
+        UnaryOperator<AvailableTimeSlot> held = slot -> slot.getStartTime().equals(at(11, 30))
+                || slot.getStartTime().equals(at(12, 30))
+                ? AvailableTimeSlot.builder()
+                        .startTime(slot.getStartTime())
+                        .endTime(slot.getEndTime())
+                        .available(false)
+                        .availableStaffIds(List.of())
+                        .build()
+                : slot;
+
+        assertEquals(List.of(at(11, 0), at(13, 0)),
+                startTimes(grid.nearestAvailable(at(12, 0), 1, held)));
+    }
+
+    @Test
+    void emptyGridHasNoAlternatives() {
+        SlotGrid grid = grid(NINE, NINE + 20, 30, 0, List.of(1L), List.of(free()));
+
+        assertTrue(grid.nearestAvailable(at(9, 0), 3, UNFILTERED).isEmpty());
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private static SlotGrid grid(int openMinute, int closeMinute, int durationMinutes, int firstBookableMinute,
+                                 List<Long> staffIds, List<DayOccupancy> occupancies) {
+        return new SlotGrid(DATE, openMinute, closeMinute, durationMinutes, firstBookableMinute, staffIds, occupancies);
+    }
+
+    private static DayOccupancy free() {
+        return occupancy(new int[0][], null, null);
+    }
+
+    private static DayOccupancy occupancy(int[][] minuteRanges, LocalTime breakStart, LocalTime breakEnd) {
+        long[] starts = new long[minuteRanges.length];
+        long[] ends = new long[minuteRanges.length];
+        for (int i = 0; i < minuteRanges.length; i++) {
+            starts[i] = DAY_START + minuteRanges[i][0];
+            ends[i] = DAY_START + minuteRanges[i][1];
+        }
+        return DayOccupancy.ofIntervals(DATE, DAY_START, starts, ends, 0, minuteRanges.length, breakStart, breakEnd);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DATE.atTime(hour, minute);
+    }
+
+    private static List<LocalDateTime> startTimes(List<AvailableTimeSlot> slots) {
+        return slots.stream().map(AvailableTimeSlot::getStartTime).collect(Collectors.toList());
+    }
+}